@@ -0,0 +1,50 @@
+package com.vedrax.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Run the benchmarks once per thread count and write the results as JSON, one file per thread count.
+ * The JMH command line options, e.g. "-wi 1 -i 3", are applied to every run.
+ * <p>
+ * System properties:
+ * <ul>
+ * <li>{@code include}: the benchmarks regular expression, every benchmark by default</li>
+ * <li>{@code threads}: the comma separated thread counts, "1,4" by default</li>
+ * <li>{@code resultDir}: the directory of the result files, "target/jmh" by default</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    String include = System.getProperty("include", "com\\.vedrax\\.benchmarks\\..*");
+    String[] threadCounts = System.getProperty("threads", "1,4").split(",");
+    File resultDir = new File(System.getProperty("resultDir", "target/jmh"));
+
+    if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+      throw new IllegalArgumentException("The result directory cannot be created: " + resultDir);
+    }
+
+    for (String threadCount : threadCounts) {
+      int threads = Integer.parseInt(threadCount.trim());
+
+      Options options = new OptionsBuilder()
+        .parent(commandLine)
+        .include(include)
+        .threads(threads)
+        .resultFormat(ResultFormatType.JSON)
+        .result(new File(resultDir, "result-" + threads + "-threads.json").getPath())
+        .build();
+
+      new Runner(options).run();
+    }
+  }
+}
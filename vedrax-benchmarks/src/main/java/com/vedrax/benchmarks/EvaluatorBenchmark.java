@@ -0,0 +1,71 @@
+package com.vedrax.benchmarks;
+
+import com.vedrax.math.MathJS;
+import com.vedrax.math.NativeEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Warm evaluation of scalar and array expressions, each thread owning its MathJS engine
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EvaluatorBenchmark {
+
+  private static final String SCALAR_EXPRESSION = "a * b + sqrt(c) / 2";
+  private static final String ARRAY_EXPRESSION = "mean(values) + max(values) - min(values) + sum(values)";
+
+  @Param({"100", "10000"})
+  private int size;
+
+  private MathJS mathJS;
+  private NativeEvaluator nativeEvaluator;
+  private Map<String, String> scalarScope;
+  private Map<String, String> arrayScope;
+
+  @Setup
+  public void setUp() {
+    mathJS = new MathJS();
+    nativeEvaluator = new NativeEvaluator();
+
+    scalarScope = new HashMap<>();
+    scalarScope.put("a", "1.5");
+    scalarScope.put("b", "3");
+    scalarScope.put("c", "16");
+
+    Random random = new Random(42);
+    arrayScope = new HashMap<>();
+    arrayScope.put("values", random.doubles(size, 0, 1000)
+      .mapToObj(String::valueOf)
+      .collect(Collectors.joining(",", "[", "]")));
+  }
+
+  @Benchmark
+  public String mathJSScalar() {
+    return mathJS.eval(SCALAR_EXPRESSION, scalarScope);
+  }
+
+  @Benchmark
+  public String mathJSArray() {
+    return mathJS.eval(ARRAY_EXPRESSION, arrayScope);
+  }
+
+  @Benchmark
+  public String nativeScalar() {
+    return nativeEvaluator.eval(SCALAR_EXPRESSION, scalarScope);
+  }
+
+  @Benchmark
+  public String nativeArray() {
+    return nativeEvaluator.eval(ARRAY_EXPRESSION, arrayScope);
+  }
+}
@@ -0,0 +1,143 @@
+package com.vedrax.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedrax.descriptor.FormDto;
+import com.vedrax.descriptor.FormGenerator;
+import com.vedrax.descriptor.FormGeneratorImpl;
+import com.vedrax.descriptor.annotations.Children;
+import com.vedrax.descriptor.annotations.Lov;
+import com.vedrax.descriptor.lov.EnumWithValue;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.StaticMessageSource;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Form json through the FormDescriptor bean and through the streaming writer
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FormDescriptorBenchmark {
+
+  @Param({"create", "update"})
+  private String mode;
+
+  private ObjectMapper objectMapper;
+  private FormGenerator formGenerator;
+  private FormDto formDto;
+
+  @Setup
+  public void setUp() {
+    StaticMessageSource messageSource = new StaticMessageSource();
+    messageSource.setUseCodeAsDefaultMessage(true);
+
+    objectMapper = new ObjectMapper();
+    formGenerator = new FormGeneratorImpl(messageSource);
+
+    FormDto.Builder builder = new FormDto.Builder(EquipmentDto.class, "/equipments");
+    if ("update".equals(mode)) {
+      builder.withMethod("PUT").withSource(createSource());
+    }
+    formDto = builder.build();
+  }
+
+  @Benchmark
+  public int bean() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      objectMapper.writeValue(generator, formGenerator.generate(formDto, Locale.ENGLISH));
+    }
+    return out.size();
+  }
+
+  @Benchmark
+  public int streaming() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      formGenerator.write(formDto, Locale.ENGLISH, generator);
+    }
+    return out.size();
+  }
+
+  private static EquipmentDto createSource() {
+    EquipmentDto source = new EquipmentDto();
+    source.designation = "designation";
+    source.reference = "reference";
+    source.contact = "contact@vedrax.com";
+    source.controlDate = new Date();
+    source.periodicity = 12;
+    source.comment = "comment";
+    source.status = Status.ACTIVE;
+    source.active = true;
+    source.measures = new ArrayList<>();
+    return source;
+  }
+
+  public enum Status implements EnumWithValue {
+    ACTIVE, SUSPENDED, RETIRED;
+
+    @Override
+    public String getValue() {
+      return name();
+    }
+  }
+
+  public static class EquipmentDto {
+
+    @NotNull
+    @Size(max = 100)
+    private String designation;
+
+    @NotNull
+    private String reference;
+
+    @Email
+    private String contact;
+
+    private Date controlDate;
+
+    @Min(0)
+    private Integer periodicity;
+
+    @Size(max = 500)
+    private String comment;
+
+    @NotNull
+    @Lov(enumType = Status.class)
+    private Status status;
+
+    @NotNull
+    private Boolean active;
+
+    @Children(type = MeasureDto.class, controlKeysAsTitle = {"label"})
+    private List<MeasureDto> measures;
+  }
+
+  public static class MeasureDto {
+
+    @NotNull
+    private String label;
+
+    @Min(0)
+    private Double value;
+
+    @Size(max = 10)
+    private String unit;
+  }
+
+}
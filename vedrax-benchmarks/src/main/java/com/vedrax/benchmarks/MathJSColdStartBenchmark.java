@@ -0,0 +1,22 @@
+package com.vedrax.benchmarks;
+
+import com.vedrax.math.MathJS;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of a MathJS engine, i.e. Nashorn start and math.min.js loading
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class MathJSColdStartBenchmark {
+
+  @Benchmark
+  public MathJS coldStart() {
+    return new MathJS();
+  }
+}
@@ -0,0 +1,77 @@
+package com.vedrax.benchmarks;
+
+import com.vedrax.math.DimMatrix;
+import com.vedrax.math.Matrix;
+import com.vedrax.math.NVP;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DimMatrix construction from a list of matrices and lookups in a shared matrix
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MatrixBenchmark {
+
+  private static final int COLUMNS = 10;
+
+  @Param({"10000", "100000"})
+  private int cells;
+
+  private List<Matrix> matrices;
+  private List<NVP> params;
+  private DimMatrix matrix;
+  private int rows;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    rows = cells / COLUMNS;
+
+    matrices = new ArrayList<>();
+    for (int c = 0; c < COLUMNS; c++) {
+      Matrix column = new Matrix();
+      column.setKey("c" + c);
+      for (int r = 0; r < rows; r++) {
+        column.addEntry(new NVP("r" + r, String.valueOf(random.nextDouble() * 1000)));
+      }
+      matrices.add(column);
+    }
+
+    params = new ArrayList<>();
+    params.add(new NVP("p1", "2"));
+
+    matrix = new DimMatrix(matrices, params);
+  }
+
+  @Benchmark
+  public DimMatrix load() {
+    return new DimMatrix(matrices, params);
+  }
+
+  @Benchmark
+  public String getEntry() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return matrix.getEntry("c" + random.nextInt(COLUMNS), "r" + random.nextInt(rows));
+  }
+
+  @Benchmark
+  public Map<String, String> getColumn() {
+    return matrix.getColumn("c" + ThreadLocalRandom.current().nextInt(COLUMNS));
+  }
+
+  @Benchmark
+  public double[] getColumnArray() {
+    return matrix.getColumnArray("c" + ThreadLocalRandom.current().nextInt(COLUMNS));
+  }
+}
@@ -0,0 +1,61 @@
+package com.vedrax.benchmarks;
+
+import com.vedrax.math.ColumnarMatrix;
+import com.vedrax.math.DimMatrix;
+import com.vedrax.math.MatrixEntry;
+import com.vedrax.math.MatrixLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load throughput of a matrix, cell by cell through addEntry versus the bulk loader
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MatrixLoadBenchmark {
+
+  private static final int COLUMNS = 10;
+
+  @Param({"10000", "100000"})
+  private int cells;
+
+  private List<MatrixEntry> entries;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    entries = new ArrayList<>(cells);
+    for (int i = 0; i < cells; i++) {
+      entries.add(new MatrixEntry("c" + (i % COLUMNS), "r" + (i / COLUMNS), String.valueOf(random.nextDouble() * 1000)));
+    }
+  }
+
+  @Benchmark
+  public DimMatrix addEntry() {
+    DimMatrix matrix = new DimMatrix();
+    entries.forEach(entry -> matrix.addEntry(entry.getColumn(), entry.getRow(), entry.getValue()));
+    return matrix;
+  }
+
+  @Benchmark
+  public DimMatrix bulkLoadDimMatrix() {
+    DimMatrix matrix = new DimMatrix();
+    MatrixLoader.load(matrix, entries.stream());
+    return matrix;
+  }
+
+  @Benchmark
+  public ColumnarMatrix bulkLoadColumnarMatrix() {
+    ColumnarMatrix matrix = new ColumnarMatrix();
+    MatrixLoader.load(matrix, entries.stream());
+    return matrix;
+  }
+}
@@ -1,7 +1,10 @@
 package com.vedrax.descriptor;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.vedrax.descriptor.components.FormDescriptor;
+import com.vedrax.descriptor.form.FormDescriptorWriter;
 
+import java.io.IOException;
 import java.util.Locale;
 
 public interface FormGenerator {
@@ -15,4 +18,23 @@ public interface FormGenerator {
    */
   FormDescriptor generate(FormDto formDto, Locale locale);
 
+  /**
+   * write the form descriptor as json, the output being identical to the serialization of the generated form
+   *
+   * @param formDto   the provided form params
+   * @param locale    the locale
+   * @param generator the json generator
+   * @throws IOException when the form cannot be written
+   */
+  default void write(FormDto formDto, Locale locale, JsonGenerator generator) throws IOException {
+    FormDescriptorWriter.write(generate(formDto, locale), generator);
+  }
+
+  /**
+   * remove any cached form template, to be called when the messages are reloaded without refreshing the context,
+   * unless a {@link com.vedrax.util.MessagesReloadedEvent} is published
+   */
+  default void invalidate() {
+  }
+
 }
@@ -1,27 +1,85 @@
 package com.vedrax.descriptor;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.vedrax.descriptor.components.FormControlDescriptor;
 import com.vedrax.descriptor.components.FormDescriptor;
 import com.vedrax.descriptor.form.AuditManager;
+import com.vedrax.descriptor.form.ChildControlCache;
 import com.vedrax.descriptor.form.ControlManager;
+import com.vedrax.descriptor.form.FormDescriptorWriter;
+import com.vedrax.descriptor.form.FormTemplateCache;
 import com.vedrax.descriptor.form.GroupManager;
-import com.vedrax.util.MessageUtil;
+import com.vedrax.descriptor.lov.LovCache;
+import com.vedrax.util.MessageResolver;
+import com.vedrax.util.MessagesReloadedEvent;
 import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
- * Service used for generating form descriptor
+ * Service used for generating form descriptor.
+ * <p>
+ * The controls, groups and labels are cached by dto class and locale, so that only the request
+ * attributes and the source values are set for each call. When written as json, the shared
+ * template is streamed and the source values are read on the fly, without copying the controls.
  */
 @Service
 public class FormGeneratorImpl implements FormGenerator {
 
-  private final MessageSource messageSource;
+  private static final int DEFAULT_CACHE_SIZE = 256;
+
+  private final MessageResolver messageResolver;
+  private final LovCache lovCache;
+  private final FormTemplateCache templateCache;
+  private final ChildControlCache childCache;
 
   public FormGeneratorImpl(MessageSource messageSource) {
-    this.messageSource = messageSource;
+    this(new MessageResolver(messageSource), DEFAULT_CACHE_SIZE);
+  }
+
+  private FormGeneratorImpl(MessageResolver messageResolver, int cacheSize) {
+    this(messageResolver, new LovCache(messageResolver), cacheSize, ChildControlCache.DEFAULT_MAX_DEPTH);
+  }
+
+  /**
+   * Constructor used by Spring, the message resolver and the lov cache being created from the message
+   * source when the application does not provide them
+   */
+  @Autowired
+  public FormGeneratorImpl(MessageSource messageSource,
+                           ObjectProvider<MessageResolver> messageResolver,
+                           ObjectProvider<LovCache> lovCache,
+                           @Value("${vedrax.form.cache-size:" + DEFAULT_CACHE_SIZE + "}") int cacheSize,
+                           @Value("${vedrax.form.max-depth:" + ChildControlCache.DEFAULT_MAX_DEPTH + "}") int maxDepth) {
+    this(messageResolver.getIfAvailable(() -> new MessageResolver(messageSource)), lovCache, cacheSize, maxDepth);
+  }
+
+  private FormGeneratorImpl(MessageResolver messageResolver, ObjectProvider<LovCache> lovCache, int cacheSize, int maxDepth) {
+    this(messageResolver, lovCache.getIfAvailable(() -> new LovCache(messageResolver)), cacheSize, maxDepth);
+  }
+
+  public FormGeneratorImpl(MessageResolver messageResolver,
+                           LovCache lovCache,
+                           int cacheSize,
+                           int maxDepth) {
+    Validate.notNull(messageResolver, "message resolver must be provided");
+    Validate.notNull(lovCache, "lov cache must be provided");
+
+    this.messageResolver = messageResolver;
+    this.lovCache = lovCache;
+    this.templateCache = new FormTemplateCache(cacheSize);
+    this.childCache = new ChildControlCache(maxDepth, cacheSize);
   }
 
   /**
@@ -32,13 +90,102 @@ public class FormGeneratorImpl implements FormGenerator {
    * @return form descriptor
    */
   public FormDescriptor generate(FormDto formDto, Locale locale) {
+    validate(formDto);
+
+    Locale formLocale = locale == null ? Locale.ENGLISH : locale;
+    Class<?> dto = formDto.getDto();
+    Object source = formDto.getSource();
+    boolean hasSource = source != null;
+
+    FormDescriptor formDescriptor = templateCache.get(dto, formLocale, hasSource,
+      () -> createTemplate(dto, hasSource, formLocale));
+    initRequestAttributes(formDescriptor, formDto);
+
+    List<String> controlKeys = getControlKeys(formDescriptor);
+
+    //set values
+    ControlManager controlManager = new ControlManager(messageResolver, lovCache, childCache, formLocale);
+    controlManager.bindValues(formDescriptor.getControls(), source);
+
+    //set audit
+    initAudit(formDescriptor, dto, source, controlKeys, formLocale);
+
+    return formDescriptor;
+  }
+
+  /**
+   * Method for writing the form descriptor as json, straight from the cached template unless the
+   * mapper of the generator is not supported by {@link FormDescriptorWriter}
+   *
+   * @param formDto   the provided class for generating the descriptor
+   * @param locale    the locale
+   * @param generator the json generator
+   * @throws IOException when the form cannot be written
+   */
+  @Override
+  public void write(FormDto formDto, Locale locale, JsonGenerator generator) throws IOException {
+    validate(formDto);
+    Validate.notNull(generator, "generator must be provided");
+
+    Locale formLocale = locale == null ? Locale.ENGLISH : locale;
+
+    //a mapper changing the names or inclusion rules serializes the generated form
+    if (!FormDescriptorWriter.supports(generator)) {
+      FormDescriptorWriter.write(generate(formDto, formLocale), generator);
+      return;
+    }
+
+    Class<?> dto = formDto.getDto();
+    Object source = formDto.getSource();
+    boolean hasSource = source != null;
+
+    FormDescriptor template = templateCache.getTemplate(dto, formLocale, hasSource,
+      () -> createTemplate(dto, hasSource, formLocale));
+
+    //the template controls are shared, only the lists are copied for the audit
+    FormDescriptor formDescriptor = new FormDescriptor();
+    formDescriptor.setControls(new ArrayList<>(template.getControls()));
+    formDescriptor.setGroups(new ArrayList<>(template.getGroups()));
+    formDescriptor.setSubmitLabel(template.getSubmitLabel());
+    formDescriptor.setCancelLabel(template.getCancelLabel());
+    initRequestAttributes(formDescriptor, formDto);
+
+    initAudit(formDescriptor, dto, source, getControlKeys(template), formLocale);
+
+    //the audit controls hold their value, the others are read from the source
+    ControlManager controlManager = new ControlManager(messageResolver, lovCache, childCache, formLocale);
+    FormDescriptorWriter.write(formDescriptor, control -> control.getControlValue() != null
+      ? control.getControlValue()
+      : controlManager.getControlValue(source, control), generator);
+  }
+
+  /**
+   * Method for removing the cached templates, called on a context refresh or a {@link MessagesReloadedEvent}.
+   * A message source reloaded without refreshing the context, e.g. by
+   * {@code ReloadableResourceBundleMessageSource.clearCache()}, must be followed by the event or by this call.
+   */
+  @Override
+  @EventListener({ContextRefreshedEvent.class, MessagesReloadedEvent.class})
+  public void invalidate() {
+    messageResolver.invalidate();
+    lovCache.invalidate();
+    childCache.invalidate();
+    templateCache.invalidate();
+  }
+
+  private void validate(FormDto formDto) {
     Validate.notNull(formDto, "formDto must be provided");
     Validate.notNull(formDto.getDto(), "dto class must be provided");
     Validate.notNull(formDto.getEndpoint(), "endpoint must be provided");
+  }
 
-    locale = locale == null ? Locale.ENGLISH : locale;
-
-    FormDescriptor formDescriptor = new FormDescriptor();
+  /**
+   * Method for setting the attributes of the request
+   *
+   * @param formDescriptor the form descriptor
+   * @param formDto        the provided form params
+   */
+  private void initRequestAttributes(FormDescriptor formDescriptor, FormDto formDto) {
     formDescriptor.setMethod(formDto.getMethod() == null ? "POST" : formDto.getMethod());
     formDescriptor.setEndpoint(formDto.getEndpoint());
     formDescriptor.setUpdateTable(formDto.isUpdateTable());
@@ -46,19 +193,47 @@ public class FormGeneratorImpl implements FormGenerator {
     formDescriptor.setSuccessUrl(formDto.getSuccessURL());
     formDescriptor.setSuccessMessage(formDto.getSuccessMessage());
     formDescriptor.setMultipart(formDto.getMultipart());
+  }
+
+  private List<String> getControlKeys(FormDescriptor formDescriptor) {
+    return formDescriptor.getControls().stream()
+      .map(FormControlDescriptor::getControlName)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Method for adding the audit controls and groups
+   *
+   * @param formDescriptor the form descriptor
+   * @param dto            the dto class
+   * @param source         the data source
+   * @param controlKeys    the keys of the form controls
+   * @param locale         the locale
+   */
+  private void initAudit(FormDescriptor formDescriptor, Class<?> dto, Object source, List<String> controlKeys, Locale locale) {
+    AuditManager auditManager = new AuditManager(messageResolver, locale);
+    List<String> auditKeys = auditManager.init(source, formDescriptor.getControls());
+    new GroupManager(dto).addAuditToGroups(formDescriptor, controlKeys, auditKeys);
+  }
+
+  /**
+   * Create the template of a form, without the request attributes and the source values
+   *
+   * @param dto       the dto class
+   * @param hasSource flag set to true when the form is bound to a source
+   * @param locale    the locale
+   * @return the form descriptor template
+   */
+  private FormDescriptor createTemplate(Class<?> dto, boolean hasSource, Locale locale) {
+    FormDescriptor formDescriptor = new FormDescriptor();
 
     //set group if any
-    GroupManager groupManager = new GroupManager(formDto.getDto());
+    GroupManager groupManager = new GroupManager(dto);
     groupManager.init(formDescriptor);
 
     //set controls
-    ControlManager controlManager = new ControlManager(messageSource, locale);
-    List<String> controlKeys = controlManager.init(formDto, formDescriptor);
-
-    //set audit
-    AuditManager auditManager = new AuditManager(messageSource, locale);
-    List<String> auditKeys = auditManager.init(formDto.getSource(), formDescriptor.getControls());
-    groupManager.addAuditToGroups(formDescriptor, controlKeys, auditKeys);
+    ControlManager controlManager = new ControlManager(messageResolver, lovCache, childCache, locale);
+    controlManager.init(dto, hasSource, formDescriptor);
 
     //set button label
     initFormButtonsLabel(formDescriptor, locale);
@@ -73,8 +248,8 @@ public class FormGeneratorImpl implements FormGenerator {
    * @param locale         the locale
    */
   private void initFormButtonsLabel(FormDescriptor formDescriptor, Locale locale) {
-    formDescriptor.setSubmitLabel(MessageUtil.getMessageFromKey(messageSource, "submit.label", null, locale));
-    formDescriptor.setCancelLabel(MessageUtil.getMessageFromKey(messageSource, "cancel.label", null, locale));
+    formDescriptor.setSubmitLabel(messageResolver.resolve("submit.label", locale));
+    formDescriptor.setCancelLabel(messageResolver.resolve("cancel.label", locale));
   }
 
   /**
@@ -87,7 +262,7 @@ public class FormGeneratorImpl implements FormGenerator {
    */
   private void initSuccessMessage(Object source, Class<?> dtoClass, FormDescriptor formDescriptor, Locale locale) {
     String key = source != null ? "success.update.message" : "success.create.message";
-    formDescriptor.setSuccessMessage(MessageUtil.getMessageFromKey(messageSource, dtoClass.getName() + "." + key, null, locale));
+    formDescriptor.setSuccessMessage(messageResolver.resolve(dtoClass.getName() + "." + key, locale));
   }
 
 
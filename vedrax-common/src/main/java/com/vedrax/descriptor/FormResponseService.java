@@ -0,0 +1,143 @@
+package com.vedrax.descriptor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vedrax.descriptor.form.FormJson;
+import com.vedrax.descriptor.form.FormJsonCache;
+import com.vedrax.util.MessagesReloadedEvent;
+import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+/**
+ * Service used for writing form descriptors to the response.
+ * <p>
+ * The json of the create forms is encoded once per dto class, request attributes and locale, and
+ * then written as is with a strong entity tag, a request holding the current tag getting a 304.
+ * The forms bound to a source are streamed from the form generator.
+ */
+@Service
+public class FormResponseService {
+
+  private static final int DEFAULT_CACHE_SIZE = 256;
+  private static final String GZIP = "gzip";
+
+  private final FormGenerator formGenerator;
+  private final ObjectMapper objectMapper;
+  private final FormJsonCache jsonCache;
+  private final boolean compress;
+
+  public FormResponseService(FormGenerator formGenerator,
+                             ObjectMapper objectMapper,
+                             @Value("${vedrax.form.json-cache-size:" + DEFAULT_CACHE_SIZE + "}") int cacheSize,
+                             @Value("${vedrax.form.gzip:true}") boolean compress) {
+    Validate.notNull(formGenerator, "form generator must be provided");
+    Validate.notNull(objectMapper, "object mapper must be provided");
+
+    this.formGenerator = formGenerator;
+    this.objectMapper = objectMapper;
+    this.jsonCache = new FormJsonCache(cacheSize);
+    this.compress = compress;
+  }
+
+  /**
+   * Method for writing the form descriptor to the response
+   *
+   * @param formDto  the provided form params
+   * @param locale   the locale
+   * @param request  the request
+   * @param response the response
+   * @throws IOException when the form cannot be written
+   */
+  public void write(FormDto formDto,
+                    Locale locale,
+                    HttpServletRequest request,
+                    HttpServletResponse response) throws IOException {
+    Validate.notNull(formDto, "formDto must be provided");
+    Validate.notNull(request, "request must be provided");
+    Validate.notNull(response, "response must be provided");
+
+    Locale formLocale = locale == null ? Locale.ENGLISH : locale;
+
+    if (formDto.getSource() != null) {
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+        formGenerator.write(formDto, formLocale, generator);
+      }
+      return;
+    }
+
+    FormJson json = jsonCache.get(formDto, formLocale, () -> encode(formDto, formLocale));
+    boolean gzip = json.getGzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+    response.setHeader(HttpHeaders.ETAG, json.getETag(gzip));
+    if (compress) {
+      response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    if (json.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), gzip)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    byte[] body = gzip ? json.getGzip() : json.getJson();
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  /**
+   * Method for removing the cached json and the templates of the form generator, to be called instead of
+   * {@link FormGenerator#invalidate()} when the messages are reloaded
+   */
+  @EventListener({ContextRefreshedEvent.class, MessagesReloadedEvent.class})
+  public void invalidate() {
+    formGenerator.invalidate();
+    jsonCache.invalidate();
+  }
+
+  private FormJson encode(FormDto formDto, Locale locale) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      formGenerator.write(formDto, locale, generator);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return new FormJson(out.toByteArray(), compress);
+  }
+
+  /**
+   * Method for checking whether the client accepts gzip
+   *
+   * @param acceptEncoding the Accept-Encoding header, may be null
+   * @return true when gzip is accepted
+   */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+        return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+}
@@ -3,7 +3,7 @@ package com.vedrax.descriptor.form;
 import com.vedrax.descriptor.components.FormControlDescriptor;
 import com.vedrax.descriptor.components.PropertyDescriptor;
 import com.vedrax.descriptor.enums.ControlType;
-import com.vedrax.util.MessageUtil;
+import com.vedrax.util.MessageResolver;
 import com.vedrax.util.ReflectUtil;
 import org.apache.commons.lang3.Validate;
 import org.springframework.context.MessageSource;
@@ -18,7 +18,7 @@ import java.util.Optional;
  */
 public class AuditManager {
 
-  private final MessageSource messageSource;
+  private final MessageResolver messageResolver;
   private final Locale locale;
   private static final String CREATED_BY = "createdBy";
   private static final String CREATED_DATE = "createdDate";
@@ -27,7 +27,11 @@ public class AuditManager {
   private static final String READ_ONLY = "readOnly";
 
   public AuditManager(MessageSource messageSource, Locale locale) {
-    this.messageSource = messageSource;
+    this(new MessageResolver(messageSource), locale);
+  }
+
+  public AuditManager(MessageResolver messageResolver, Locale locale) {
+    this.messageResolver = messageResolver;
     this.locale = locale;
   }
 
@@ -91,7 +95,7 @@ public class AuditManager {
     FormControlDescriptor formControlDescriptor = new FormControlDescriptor();
 
     formControlDescriptor.setControlName(attributeName);
-    formControlDescriptor.setControlLabel(MessageUtil.getMessageFromKey(messageSource, attributeName + ".label", null, locale));
+    formControlDescriptor.setControlLabel(messageResolver.resolve(attributeName + ".label", locale));
     formControlDescriptor.addProperty(new PropertyDescriptor(READ_ONLY,true));
     formControlDescriptor.setControlType(String.valueOf(ControlType.input));
     formControlDescriptor.setControlValue(value);
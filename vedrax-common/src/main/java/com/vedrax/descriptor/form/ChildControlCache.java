@@ -0,0 +1,147 @@
+package com.vedrax.descriptor.form;
+
+import com.vedrax.descriptor.components.FormControlDescriptor;
+import org.apache.commons.lang3.Validate;
+
+import java.util.*;
+
+/**
+ * Cache of the child controls rendered for the {@code @Children} fields, by child type, endpoints and locale.
+ * <p>
+ * The child controls are shared between all the parents and must not be modified. Each entry keeps the
+ * number of nested levels of its controls, so that the maximum depth can be checked wherever the child
+ * type is used without rendering it again. The least recently used entries are evicted when the cache
+ * is full, and {@link #invalidate()} should be called when the messages are reloaded.
+ */
+public class ChildControlCache {
+
+  public static final int DEFAULT_MAX_DEPTH = 8;
+  public static final int DEFAULT_MAX_SIZE = 256;
+
+  private final int maxDepth;
+  private final Map<Key, Entry> entries;
+
+  public ChildControlCache(int maxDepth) {
+    this(maxDepth, DEFAULT_MAX_SIZE);
+  }
+
+  public ChildControlCache(int maxDepth, int maxSize) {
+    Validate.isTrue(maxDepth > 0, "max depth must be positive");
+    Validate.isTrue(maxSize > 0, "max size must be positive");
+
+    this.maxDepth = maxDepth;
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > maxSize;
+      }
+    });
+  }
+
+  /**
+   * Method for getting the maximum number of nested {@code @Children} levels of a form
+   *
+   * @return the maximum depth
+   */
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /**
+   * Method for removing all the entries, e.g. when the messages are reloaded
+   */
+  public void invalidate() {
+    entries.clear();
+  }
+
+  /**
+   * Method for getting the number of cached entries
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  Entry get(Class<?> type, Map<String, String> endpoints, Locale locale) {
+    return entries.get(new Key(type, endpoints, locale));
+  }
+
+  /**
+   * Method for caching the rendered child controls, the entry of a concurrent rendering being kept
+   *
+   * @param type      the child type
+   * @param endpoints the endpoints for options of the child controls
+   * @param locale    the locale
+   * @param controls  the rendered child controls
+   * @return the cached entry
+   */
+  Entry put(Class<?> type, Map<String, String> endpoints, Locale locale, List<FormControlDescriptor> controls) {
+    Entry entry = new Entry(Collections.unmodifiableList(controls), 1 + getDepth(controls));
+    Entry previous = entries.putIfAbsent(new Key(type, endpoints, locale), entry);
+    return previous != null ? previous : entry;
+  }
+
+  /**
+   * Method for getting the number of nested levels below the controls
+   *
+   * @param controls the controls
+   * @return the depth, 0 when no control has children
+   */
+  private static int getDepth(List<FormControlDescriptor> controls) {
+    int depth = 0;
+    for (FormControlDescriptor control : controls) {
+      if (!control.getControlChildren().isEmpty()) {
+        depth = Math.max(depth, 1 + getDepth(control.getControlChildren()));
+      }
+    }
+    return depth;
+  }
+
+  /**
+   * Rendered child controls with their number of nested levels, the child level included
+   */
+  static final class Entry {
+
+    final List<FormControlDescriptor> controls;
+    final int depth;
+
+    private Entry(List<FormControlDescriptor> controls, int depth) {
+      this.controls = controls;
+      this.depth = depth;
+    }
+  }
+
+  /**
+   * Key of an entry
+   */
+  private static final class Key {
+
+    private final Class<?> type;
+    private final Map<String, String> endpoints;
+    private final Locale locale;
+
+    private Key(Class<?> type, Map<String, String> endpoints, Locale locale) {
+      this.type = type;
+      this.endpoints = endpoints;
+      this.locale = locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return type == other.type && endpoints.equals(other.endpoints) && locale.equals(other.locale);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(type, endpoints, locale);
+    }
+  }
+}
@@ -1,37 +1,53 @@
 package com.vedrax.descriptor.form;
 
 import com.vedrax.descriptor.FormDto;
-import com.vedrax.descriptor.annotations.Properties;
-import com.vedrax.descriptor.annotations.*;
 import com.vedrax.descriptor.components.*;
 import com.vedrax.descriptor.enums.ControlType;
-import com.vedrax.descriptor.enums.ValidationType;
-import com.vedrax.descriptor.lov.EnumWithValue;
+import com.vedrax.descriptor.lov.LovCache;
 import com.vedrax.descriptor.lov.NVP;
-import com.vedrax.util.MessageUtil;
+import com.vedrax.descriptor.model.FieldModel;
+import com.vedrax.descriptor.model.FormModel;
+import com.vedrax.descriptor.model.FormModelFactory;
+import com.vedrax.descriptor.model.ValidationModel;
+import com.vedrax.util.MessageKey;
+import com.vedrax.util.MessageResolver;
 import com.vedrax.util.ReflectUtil;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.springframework.context.MessageSource;
-import org.springframework.web.multipart.MultipartFile;
 
-import javax.validation.constraints.*;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
-import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static com.vedrax.descriptor.typeof.TypeOf.whenTypeOf;
-
+/**
+ * Class which renders the controls of a form from the compiled form model of the dto class.
+ * <p>
+ * The child controls of the {@code @Children} fields are rendered once per child type and endpoints,
+ * and shared between the parents through the {@link ChildControlCache}. A child type nested in itself
+ * or nested deeper than the maximum depth of the cache is rejected.
+ */
 public class ControlManager {
 
-    private final MessageSource messageSource;
+    private final MessageResolver messageResolver;
+    private final LovCache lovCache;
+    private final ChildControlCache childCache;
     private final Locale locale;
 
     public ControlManager(MessageSource messageSource, Locale locale) {
-        this.messageSource = messageSource;
+        this(new MessageResolver(messageSource), locale);
+    }
+
+    public ControlManager(MessageResolver messageResolver, Locale locale) {
+        this(messageResolver, new LovCache(messageResolver), locale);
+    }
+
+    public ControlManager(MessageResolver messageResolver, LovCache lovCache, Locale locale) {
+        this(messageResolver, lovCache, new ChildControlCache(ChildControlCache.DEFAULT_MAX_DEPTH), locale);
+    }
+
+    public ControlManager(MessageResolver messageResolver, LovCache lovCache, ChildControlCache childCache, Locale locale) {
+        this.messageResolver = messageResolver;
+        this.lovCache = lovCache;
+        this.childCache = childCache;
         this.locale = locale;
     }
 
@@ -39,389 +55,283 @@ public class ControlManager {
         Validate.notNull(formDto, "form dto must be provided");
         Validate.notNull(formDescriptor, "form descriptor must be provided");
 
-        List<FormControlDescriptor> controls = getControls(formDto.getDto(), formDto.getSource(), null);
+        List<String> controlKeys = init(formDto.getDto(), formDto.getSource() != null, formDescriptor);
+        bindValues(formDescriptor.getControls(), formDto.getSource());
+
+        return controlKeys;
+    }
+
+    /**
+     * Init the controls of a form without binding any value
+     *
+     * @param dto            the dto class
+     * @param hasSource      flag set to true when the form will be bound to a source
+     * @param formDescriptor the form descriptor
+     * @return the control keys
+     */
+    public List<String> init(Class<?> dto, boolean hasSource, FormDescriptor formDescriptor) {
+        Validate.notNull(formDescriptor, "form descriptor must be provided");
+
+        Deque<Class<?>> path = new ArrayDeque<>();
+        path.addLast(dto);
+
+        List<FormControlDescriptor> controls = getControls(dto, hasSource, Collections.emptyMap(), path);
         formDescriptor.setControls(controls);
 
         return controls.stream().map(FormControlDescriptor::getControlName).collect(Collectors.toList());
     }
 
     /**
-     * Create the list of controls descriptors using reflection
+     * Bind the values of the source to the controls
+     *
+     * @param controls the controls
+     * @param source   the data source, nothing is bound when null
+     */
+    public void bindValues(List<FormControlDescriptor> controls, Object source) {
+        Validate.notNull(controls, "controls must be provided");
+
+        for (FormControlDescriptor control : controls) {
+            setControlValue(source, control);
+        }
+    }
+
+    /**
+     * Create the list of controls descriptors from the compiled form model
      *
      * @param sourceClass the source class
-     * @param source      the source
+     * @param hasSource   flag set to true when the form is bound to a source
+     * @param endpoints   the endpoints for options keyed by control name
+     * @param path        the classes being rendered, from the form dto to the source class
      * @return list of controls descriptors
      */
-    private List<FormControlDescriptor> getControls(Class<?> sourceClass, Object source, Endpoint[] endpoints) {
+    private List<FormControlDescriptor> getControls(Class<?> sourceClass,
+                                                    boolean hasSource,
+                                                    Map<String, String> endpoints,
+                                                    Deque<Class<?>> path) {
         Validate.notNull(sourceClass, "source class must be provided");
 
-        String packageName = sourceClass.getPackage().getName();
-
-        List<FormControlDescriptor> controls = new ArrayList<>();
+        FormModel formModel = FormModelFactory.getModel(sourceClass);
+        Map<MessageKey, String> messages = messageResolver.resolveAll(formModel.getMessageKeys(), locale);
 
-        Field[] fields = FieldUtils.getAllFields(sourceClass);
+        List<FormControlDescriptor> controls = new ArrayList<>(formModel.getFields().size());
 
-        boolean hasSource = source != null;
+        for (FieldModel field : formModel.getFields()) {
 
-        for (Field field : fields) {
-
-            FormControlDescriptor formControlDescriptor = generateFormControlWithAttribute(field, hasSource, packageName);
-            if (formControlDescriptor != null) {
-
-                initControlWithType(field, formControlDescriptor);
-                initControlWithAnnotations(field, formControlDescriptor, packageName);
-                setControlValue(source, formControlDescriptor);
-                initWithEndpoint(formControlDescriptor, endpoints);
-                controls.add(formControlDescriptor);
+            if (checkIfAttributeShouldBeExcluded(field, hasSource)) {
+                continue;
             }
 
+            FormControlDescriptor formControlDescriptor = initFormControl(field, messages, path);
+            initWithEndpoint(formControlDescriptor, endpoints);
+            controls.add(formControlDescriptor);
         }
 
         return controls;
     }
 
-    private void initWithEndpoint(FormControlDescriptor formControlDescriptor, Endpoint[] endpoints){
-        Optional<Endpoint> endpointOpt = getEndpoint(endpoints, formControlDescriptor.getControlName());
-        endpointOpt.ifPresent(endpoint -> formControlDescriptor.setEndpointForOptions(endpoint.url()));
-    }
-
-    private Optional<Endpoint> getEndpoint(Endpoint[] endpoints, String controlName){
-        if(endpoints == null){
-            return Optional.empty();
-        }
-        List<Endpoint> endpointAsList = Arrays.asList(endpoints);
-        Endpoint endpoint = endpointAsList.stream()
-                .filter(url -> controlName.equalsIgnoreCase(url.key()))
-                .findFirst()
-                .orElse(null);
-        return Optional.ofNullable(endpoint);
-    }
-
-    /**
-     * Method for generating a form control
-     *
-     * @param field the field of the dto class
-     * @return form control descriptor
-     */
-    private FormControlDescriptor generateFormControlWithAttribute(Field field, boolean hasSource, String packageName) {
-
-        if (checkIfAttributeShouldBeExcluded(field, hasSource)) {
-            return null;
+    private void initWithEndpoint(FormControlDescriptor formControlDescriptor, Map<String, String> endpoints) {
+        for (Map.Entry<String, String> endpoint : endpoints.entrySet()) {
+            if (formControlDescriptor.getControlName().equalsIgnoreCase(endpoint.getKey())) {
+                formControlDescriptor.setEndpointForOptions(endpoint.getValue());
+                return;
+            }
         }
-
-        return initFormControl(field, packageName);
     }
 
     /**
      * Method for checking if an attribute should be included
      *
-     * @param field the field for the dto class
+     * @param field the compiled field of the dto class
      * @return true when add otherwise false
      */
-    private boolean checkIfAttributeShouldBeExcluded(Field field, boolean hasSource) {
-        return hasSource && field.isAnnotationPresent(Null.class);
+    private boolean checkIfAttributeShouldBeExcluded(FieldModel field, boolean hasSource) {
+        return hasSource && field.isExcludedWithSource();
     }
 
-
     /**
-     * Generate form control with reflection
+     * Generate form control from the compiled field, only the messages being resolved
      *
-     * @param field the field of the dto class
+     * @param field    the compiled field of the dto class
+     * @param messages the resolved messages of the form
+     * @param path     the classes being rendered
      * @return form control descriptor
      */
-    private FormControlDescriptor initFormControl(Field field, String packageName) {
+    private FormControlDescriptor initFormControl(FieldModel field, Map<MessageKey, String> messages, Deque<Class<?>> path) {
         FormControlDescriptor formControlDescriptor = new FormControlDescriptor();
 
-        String controlKey = String.format("%s.%s", packageName, field.getName());
-
         formControlDescriptor.setControlName(field.getName());
-        formControlDescriptor.setControlLabel(MessageUtil.getMessageFromKey(messageSource, controlKey + ".label", null, locale));
-        formControlDescriptor.setControlHint(MessageUtil.getMessageFromKey(messageSource, controlKey + ".hint", null, locale));
-        return formControlDescriptor;
-    }
+        formControlDescriptor.setControlLabel(messages.get(MessageKey.of(field.getLabelKey())));
+        formControlDescriptor.setControlHint(messages.get(MessageKey.of(field.getHintKey())));
+        formControlDescriptor.setControlType(field.getControlType());
+        formControlDescriptor.setEndpointForOptions(field.getEndpointForOptions());
+        formControlDescriptor.setControlSizeLimit(field.getSizeLimit());
+
+        for (PropertyDescriptor property : field.getProperties()) {
+            formControlDescriptor.addProperty(new PropertyDescriptor(property.getPropertyName(), property.getPropertyValue()));
+        }
 
-    /**
-     * Init control type
-     *
-     * @param field                 the field of the dto class
-     * @param formControlDescriptor the form control descriptor
-     */
-    public void initControlWithType(Field field, FormControlDescriptor formControlDescriptor) {
-
-        Class<?> type = field.getType();
-
-        if (Date.class.isAssignableFrom(type)) {
-            formControlDescriptor.setControlType(String.valueOf(ControlType.datepicker));
-        } else if (Integer.class.isAssignableFrom(type)) {
-            setAsNumber(formControlDescriptor);
-        } else if (Double.class.isAssignableFrom(type)) {
-            setAsNumber(formControlDescriptor);
-        } else if (BigDecimal.class.isAssignableFrom(type)) {
-            setAsNumber(formControlDescriptor);
-        } else if (Boolean.class.isAssignableFrom(type)) {
-            formControlDescriptor.setControlType(String.valueOf(ControlType.checkbox));
-        } else if (MultipartFile.class.isAssignableFrom(type)) {
-            formControlDescriptor.setControlType(String.valueOf(ControlType.upload));
-        } else {
-            formControlDescriptor.setControlType(String.valueOf(ControlType.input));
+        for (ValidationModel validation : field.getValidations()) {
+            formControlDescriptor.addValidation(initValidation(validation, messages));
         }
 
-    }
+        if (field.getLovType() != null) {
+            //the cached options are shared
+            for (NVP option : lovCache.getOptions(field.getLovType(), locale)) {
+                formControlDescriptor.getControlOptions().add(new NVP(option.getKey(), option.getValue()));
+            }
+        }
 
-    /**
-     * Create number property
-     */
-    private void setAsNumber(FormControlDescriptor formControlDescriptor) {
-        PropertyDescriptor propertyDescriptor = new PropertyDescriptor();
-        propertyDescriptor.setPropertyName("type");
-        propertyDescriptor.setPropertyValue("number");
+        if (field.getAutocomplete() != null) {
+            formControlDescriptor.setControlSearch(initAutocomplete(field.getAutocomplete(), messages));
+        }
+
+        if (field.getChildType() != null) {
+            formControlDescriptor.setControlChildren(getChildren(field, path));
+        }
+
+        formControlDescriptor.getControlAccept().addAll(field.getAccept());
+        formControlDescriptor.getControlKeysAsTitle().addAll(field.getKeysAsTitle());
 
-        formControlDescriptor.setControlType(String.valueOf(ControlType.input));
-        formControlDescriptor.addProperty(propertyDescriptor);
+        return formControlDescriptor;
     }
 
     /**
-     * Method for setting value of the specified control
+     * Method for getting the shared child controls of a {@code @Children} field, rendered when missing
      *
-     * @param entity  the data source
-     * @param control the form control descriptor
+     * @param field the compiled field of the parent class
+     * @param path  the classes being rendered, the parent class being the last one
+     * @return the child controls
      */
-    private void setControlValue(Object entity, FormControlDescriptor control) {
+    private List<FormControlDescriptor> getChildren(FieldModel field, Deque<Class<?>> path) {
+        Class<?> childType = field.getChildType();
+        Map<String, String> endpoints = field.getChildEndpoints();
 
-        //in case entity is not found
-        if (entity == null) {
-            return;
+        if (path.contains(childType)) {
+            throw new IllegalArgumentException(String.format("Cyclic children %s -> %s", formatPath(path), childType.getName()));
         }
 
-        String controlName = control.getControlName();
-
-        Optional<Object> fieldOpt = ReflectUtil.getField(entity, controlName);
+        //the child level is the number of classes being rendered
+        int level = path.size();
 
-        if (fieldOpt.isPresent()) {
+        ChildControlCache.Entry entry = childCache.get(childType, endpoints, locale);
+        if (entry == null) {
+            checkDepth(level, path, childType);
 
-            Object value = fieldOpt.get();
-
-            if (control.getControlType().equals(String.valueOf(ControlType.autocomplete))) {
-
-                AutocompleteDescriptor autocompleteDescriptor = control.getControlSearch();
-
-                Validate.notNull(autocompleteDescriptor, "AutocompleteDescriptor must be provided via annotation");
-
-                NVP nvp = new NVP();
-                nvp.setKey(String.valueOf(value));
-                Optional<Object> displayOpt = ReflectUtil.getField(entity, autocompleteDescriptor.getDisplayKey());
-                nvp.setValue(String.valueOf(displayOpt.orElse(value)));
-                control.setControlValue(nvp);
-            } else {
-                fieldOpt.ifPresent(control::setControlValue);
-            }
+            path.addLast(childType);
+            List<FormControlDescriptor> children = getControls(childType, false, endpoints, path);
+            path.removeLast();
 
+            entry = childCache.put(childType, endpoints, locale, children);
         }
 
+        checkDepth(level + entry.depth - 1, path, childType);
 
+        return entry.controls;
     }
 
-    /**
-     * Init control with annotations
-     *
-     * @param field                 the field of the dto class
-     * @param formControlDescriptor the form control descriptor
-     */
-    public void initControlWithAnnotations(Field field,
-                                           FormControlDescriptor formControlDescriptor, String packageName) {
-
-        for (Annotation annotation : field.getDeclaredAnnotations()) {
-
-            whenTypeOf(annotation)
-                    .is(Properties.class).then(properties -> fromListOfProperties(properties, formControlDescriptor))
-                    .is(Component.class).then(component -> fromComponent(component, formControlDescriptor))
-                    .is(Children.class).then(children -> fromChildren(children, formControlDescriptor))
-                    .is(Lov.class).then(lov -> fromEnums(lov, formControlDescriptor))
-                    .is(NotNull.class).then(validation -> fromValidation(ValidationType.required, true, formControlDescriptor, packageName))
-                    .is(Size.class).then(validation -> fromSizeValidation(validation, formControlDescriptor, packageName))
-                    .is(Email.class).then(validation -> fromValidation(ValidationType.email, true, formControlDescriptor, packageName))
-                    .is(Min.class).then(validation -> fromValidation(ValidationType.min, validation.value(), formControlDescriptor, packageName))
-                    .is(Max.class).then(validation -> fromValidation(ValidationType.max, validation.value(), formControlDescriptor, packageName))
-                    .is(NotEmpty.class).then(validation -> fromValidation(ValidationType.required, true, formControlDescriptor, packageName))
-                    .is(NotBlank.class).then(validation -> fromValidation(ValidationType.required, true, formControlDescriptor, packageName))
-                    .is(Autocomplete.class).then(autocomplete -> fromAutocomplete(autocomplete, formControlDescriptor))
-                    .is(Pattern.class).then(validation -> fromValidation(ValidationType.pattern, validation.regexp(), formControlDescriptor, packageName))
-                    .is(Upload.class).then(upload -> fromUpload(upload, formControlDescriptor));
+    private void checkDepth(int depth, Deque<Class<?>> path, Class<?> childType) {
+        if (depth > childCache.getMaxDepth()) {
+            throw new IllegalArgumentException(String.format("Children %s -> %s exceed the maximum depth of %d",
+                    formatPath(path), childType.getName(), childCache.getMaxDepth()));
         }
-
     }
 
-    /**
-     * Method for generating upload file component
-     *
-     * @param upload                the upload annotation
-     * @param formControlDescriptor the form control descriptor
-     */
-    private void fromUpload(Upload upload, FormControlDescriptor formControlDescriptor) {
-        formControlDescriptor.setControlType(String.valueOf(ControlType.upload));
-
-        if (upload.acceptedTypes().length > 0) {
-            formControlDescriptor.setControlAccept(Arrays.asList(upload.acceptedTypes()));
-            formControlDescriptor.setControlSizeLimit(upload.sizeLimit());
-        }
+    private static String formatPath(Deque<Class<?>> path) {
+        return path.stream().map(Class::getName).collect(Collectors.joining(" -> "));
     }
 
     /**
-     * Method for generating list of options with the Lov annotation
+     * Method for generating the validation with its message
      *
-     * @param lov                   the list of values annotation
-     * @param formControlDescriptor the form control descriptor
+     * @param validation the compiled validation
+     * @param messages   the resolved messages of the form
+     * @return the validation descriptor
      */
-    private void fromEnums(Lov lov, FormControlDescriptor formControlDescriptor) {
-        generateLOVWithEnums(lov.enumType(), formControlDescriptor);
+    private ValidationDescriptor initValidation(ValidationModel validation, Map<MessageKey, String> messages) {
+        ValidationDescriptor validationDescriptor = new ValidationDescriptor();
+        validationDescriptor.setValidationName(validation.getValidationName());
+        validationDescriptor.setValidationValue(validation.getValidationValue());
+        validationDescriptor.setValidationMessage(messages.get(validation.getMessage()));
+        return validationDescriptor;
     }
 
     /**
-     * Method for generating LOV with the provided enums
+     * Method for copying the compiled autocomplete descriptor with the filter labels
      *
-     * @param enumType              the type of enum
-     * @param formControlDescriptor the form control descriptor
+     * @param template the compiled autocomplete descriptor
+     * @param messages the resolved messages of the form
+     * @return the autocomplete descriptor
      */
-    private void generateLOVWithEnums(Class<? extends EnumWithValue> enumType,
-                                      FormControlDescriptor formControlDescriptor) {
-
-        List<NVP> nvpList = new ArrayList<>();
-
-        String className = enumType.getName();
-
-        EnumWithValue[] values = enumType.getEnumConstants();
-
-        for (EnumWithValue enumWithValue : values) {
-            String key = "" + enumWithValue;
-
-            NVP nvp = new NVP();
-            nvp.setKey(key);
-            nvp.setValue(MessageUtil.getMessageFromKey(messageSource, className + "." + key, null, locale));
-            nvpList.add(nvp);
-        }
-
-        formControlDescriptor.setControlOptions(nvpList);
-        formControlDescriptor.setControlType("select");
-
-    }
-
-    private void fromAutocomplete(Autocomplete autocomplete, FormControlDescriptor formControlDescriptor) {
-        formControlDescriptor.setControlType(String.valueOf(ControlType.autocomplete));
-
+    private AutocompleteDescriptor initAutocomplete(AutocompleteDescriptor template, Map<MessageKey, String> messages) {
         AutocompleteDescriptor autocompleteDescriptor = new AutocompleteDescriptor();
-        autocompleteDescriptor.setEndpoint(autocomplete.endpoint());
-        autocompleteDescriptor.setDisplayKey(autocomplete.displayAttribute());
-
-        //set params
-        List<NVP> params = new ArrayList<>();
-
-        for (String param : autocomplete.params()) {
-            String[] splitString = param.split(":");
-            NVP nameValuePair = new NVP();
-            nameValuePair.setKey(splitString[0]);
-            nameValuePair.setValue(splitString[1]);
-            params.add(nameValuePair);
-        }
+        autocompleteDescriptor.setEndpoint(template.getEndpoint());
+        autocompleteDescriptor.setDisplayKey(template.getDisplayKey());
 
-        autocompleteDescriptor.setDefaultParams(params);
-
-        //set filters
-        for (SearchFilter filter : autocomplete.filters()) {
-            String controlName = filter.controlName();
+        for (NVP param : template.getDefaultParams()) {
+            autocompleteDescriptor.getDefaultParams().add(new NVP(param.getKey(), param.getValue()));
+        }
 
+        for (FormControlDescriptor filter : template.getFilters()) {
             FormControlDescriptor searchDescriptor = new FormControlDescriptor();
-            searchDescriptor.setControlName(controlName);
-            searchDescriptor.setControlLabel(MessageUtil.getMessageFromKey(messageSource, "filter." + controlName, null, locale));
-            searchDescriptor.setControlType(filter.controlType());
-            if (StringUtils.isNotEmpty(filter.endpoint())) {
-                searchDescriptor.setEndpointForOptions(filter.endpoint());
-            }
+            searchDescriptor.setControlName(filter.getControlName());
+            searchDescriptor.setControlLabel(messages.get(MessageKey.of("filter." + filter.getControlName())));
+            searchDescriptor.setControlType(filter.getControlType());
+            searchDescriptor.setEndpointForOptions(filter.getEndpointForOptions());
             autocompleteDescriptor.addFilter(searchDescriptor);
         }
 
-        formControlDescriptor.setControlSearch(autocompleteDescriptor);
-    }
-
-    /**
-     * Method for creating children components
-     *
-     * @param children              the children annotation
-     * @param formControlDescriptor the form control descriptor
-     */
-    private void fromChildren(Children children, FormControlDescriptor formControlDescriptor) {
-        List<FormControlDescriptor> controls = getControls(children.type(), null, children.endpoints());
-        formControlDescriptor.setControlChildren(controls);
-        formControlDescriptor.setControlKeysAsTitle(Arrays.asList(children.controlKeysAsTitle()));
-        formControlDescriptor.setControlType(String.valueOf(ControlType.arrayOfControls));
+        return autocompleteDescriptor;
     }
 
     /**
-     * Method for overriding the control type
+     * Method for setting value of the specified control
      *
-     * @param component             the component annotation
-     * @param formControlDescriptor the form control descriptor
+     * @param entity  the data source
+     * @param control the form control descriptor
      */
-    private void fromComponent(Component component, FormControlDescriptor formControlDescriptor) {
-        //override the component type by default
-        formControlDescriptor.setControlType(component.type());
-        if(StringUtils.isNotEmpty(component.endpoint())){
-            formControlDescriptor.setEndpointForOptions(component.endpoint());
+    private void setControlValue(Object entity, FormControlDescriptor control) {
+        Object value = getControlValue(entity, control);
+        if (value != null) {
+            control.setControlValue(value);
         }
     }
 
     /**
-     * Method for including size validation
+     * Method for getting the value of the specified control, without binding it
      *
-     * @param sizeValidation        the size annotation
-     * @param formControlDescriptor the form control descriptor
+     * @param entity  the data source
+     * @param control the form control descriptor
+     * @return the value or null when the entity has no value for the control
      */
-    private void fromSizeValidation(Size sizeValidation, FormControlDescriptor formControlDescriptor, String packageName) {
-        if (sizeValidation.max() > 0) {
-            fromValidation(ValidationType.maxlength, sizeValidation.max(), formControlDescriptor, packageName);
-        }
+    public Object getControlValue(Object entity, FormControlDescriptor control) {
 
-        if (sizeValidation.min() > 0) {
-            fromValidation(ValidationType.minlength, sizeValidation.min(), formControlDescriptor, packageName);
+        //in case entity is not found
+        if (entity == null) {
+            return null;
         }
-    }
 
-    /**
-     * Method for adding validation
-     *
-     * @param validationType        the validation type enum
-     * @param value                 the validation value
-     * @param formControlDescriptor the form control descriptor
-     */
-    private void fromValidation(ValidationType validationType,
-                                Object value,
-                                FormControlDescriptor formControlDescriptor,
-                                String packageName) {
+        Optional<Object> fieldOpt = ReflectUtil.getField(entity, control.getControlName());
 
-        String messageKey = String.format("%s.%s.%s", packageName, formControlDescriptor.getControlName(), validationType);
-        ValidationDescriptor validationDescriptor = new ValidationDescriptor();
-        validationDescriptor.setValidationName(validationType.getName());
-        validationDescriptor.setValidationValue(value);
-        if (value != null) {
-            validationDescriptor.setValidationMessage(MessageUtil.getMessageFromKey(messageSource, messageKey, new Object[]{value}, locale));
-        } else {
-            validationDescriptor.setValidationMessage(MessageUtil.getMessageFromKey(messageSource, messageKey, null, locale));
+        if (!fieldOpt.isPresent()) {
+            return null;
         }
-        formControlDescriptor.addValidation(validationDescriptor);
-    }
 
-    /**
-     * Method for adding properties value to form control descriptor
-     *
-     * @param listOfProperties      the properties annotation
-     * @param formControlDescriptor the form control descriptor
-     */
-    private void fromListOfProperties(Properties listOfProperties, FormControlDescriptor formControlDescriptor) {
-        for (Property property : listOfProperties.properties()) {
-            PropertyDescriptor propertyDescriptor = new PropertyDescriptor();
-            propertyDescriptor.setPropertyName(property.propertyName());
-            propertyDescriptor.setPropertyValue(property.propertyValue());
-            formControlDescriptor.addProperty(propertyDescriptor);
+        Object value = fieldOpt.get();
+
+        if (control.getControlType().equals(String.valueOf(ControlType.autocomplete))) {
+
+            AutocompleteDescriptor autocompleteDescriptor = control.getControlSearch();
+
+            Validate.notNull(autocompleteDescriptor, "AutocompleteDescriptor must be provided via annotation");
+
+            NVP nvp = new NVP();
+            nvp.setKey(String.valueOf(value));
+            Optional<Object> displayOpt = ReflectUtil.getField(entity, autocompleteDescriptor.getDisplayKey());
+            nvp.setValue(String.valueOf(displayOpt.orElse(value)));
+            return nvp;
         }
+
+        return value;
     }
 
 }
@@ -0,0 +1,296 @@
+package com.vedrax.descriptor.form;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vedrax.descriptor.components.*;
+import com.vedrax.descriptor.lov.NVP;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streaming writer of the form descriptor.
+ * <p>
+ * The descriptor is written field by field to the generator, following the declaration order and
+ * the inclusion rules of the components, so that the output is identical to the bean
+ * serialization without building an object graph per request. The values which are not strings,
+ * numbers or booleans are written through the codec of the generator, which must then be
+ * created by an {@code ObjectMapper}.
+ * <p>
+ * The names and inclusion rules are those of the component annotations, so a mapper changing them
+ * globally (default property inclusion, naming strategy, mix-ins, sorted properties or indentation)
+ * is not {@link #supports(ObjectMapper) supported}, the descriptor being then serialized as a bean
+ * by the mapper. Per-type config overrides of the mapper are not detected.
+ */
+public final class FormDescriptorWriter {
+
+  private FormDescriptorWriter() {
+  }
+
+  /**
+   * Method for checking whether the output of the writer is identical to the serialization by the mapper
+   *
+   * @param objectMapper the object mapper
+   * @return true when the mapper keeps the names and inclusion rules of the components
+   */
+  public static boolean supports(ObjectMapper objectMapper) {
+    Validate.notNull(objectMapper, "object mapper must be provided");
+
+    SerializationConfig config = objectMapper.getSerializationConfig();
+    JsonInclude.Value inclusion = config.getDefaultPropertyInclusion();
+    return isDefault(inclusion.getValueInclusion())
+      && isDefault(inclusion.getContentInclusion())
+      && config.getPropertyNamingStrategy() == null
+      && objectMapper.mixInCount() == 0
+      && !config.isEnabled(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+      && !config.isEnabled(SerializationFeature.INDENT_OUTPUT);
+  }
+
+  /**
+   * Method for checking whether the codec of the generator is supported, a generator without
+   * {@code ObjectMapper} being written field by field
+   *
+   * @param generator the json generator
+   * @return true when the descriptor can be written field by field
+   */
+  public static boolean supports(JsonGenerator generator) {
+    Validate.notNull(generator, "generator must be provided");
+
+    ObjectCodec codec = generator.getCodec();
+    return !(codec instanceof ObjectMapper) || supports((ObjectMapper) codec);
+  }
+
+  /**
+   * Method for writing the form descriptor, the descriptor being serialized by the mapper of the
+   * generator when the mapper is not supported
+   *
+   * @param formDescriptor the form descriptor
+   * @param generator      the json generator
+   * @throws IOException when the descriptor cannot be written
+   */
+  public static void write(FormDescriptor formDescriptor, JsonGenerator generator) throws IOException {
+    Validate.notNull(generator, "generator must be provided");
+
+    if (!supports(generator)) {
+      Validate.notNull(formDescriptor, "form descriptor must be provided");
+      ((ObjectMapper) generator.getCodec()).writeValue(generator, formDescriptor);
+      return;
+    }
+    write(formDescriptor, FormControlDescriptor::getControlValue, generator);
+  }
+
+  /**
+   * Method for writing the form descriptor, the values of the top level controls being provided by the function
+   *
+   * @param formDescriptor the form descriptor
+   * @param values         the function providing the value of a top level control
+   * @param generator      the json generator
+   * @throws IOException when the descriptor cannot be written
+   */
+  public static void write(FormDescriptor formDescriptor,
+                           Function<FormControlDescriptor, Object> values,
+                           JsonGenerator generator) throws IOException {
+    Validate.notNull(formDescriptor, "form descriptor must be provided");
+    Validate.notNull(values, "values function must be provided");
+    Validate.notNull(generator, "generator must be provided");
+
+    generator.writeStartObject();
+    writeString(generator, "title", formDescriptor.getTitle());
+    if (formDescriptor.getControls() != null) {
+      generator.writeFieldName("controls");
+      writeControls(generator, formDescriptor.getControls(), values);
+    }
+    if (!isEmpty(formDescriptor.getGroups())) {
+      generator.writeArrayFieldStart("groups");
+      for (FormGroupDescriptor group : formDescriptor.getGroups()) {
+        writeGroup(generator, group);
+      }
+      generator.writeEndArray();
+    }
+    writeString(generator, "endpoint", formDescriptor.getEndpoint());
+    writeString(generator, "method", formDescriptor.getMethod());
+    writeBoolean(generator, "multipart", formDescriptor.getMultipart());
+    writeString(generator, "successUrl", formDescriptor.getSuccessUrl());
+    writeString(generator, "submitLabel", formDescriptor.getSubmitLabel());
+    writeString(generator, "cancelLabel", formDescriptor.getCancelLabel());
+    writeString(generator, "successMessage", formDescriptor.getSuccessMessage());
+    writeBoolean(generator, "updateTable", formDescriptor.getUpdateTable());
+    generator.writeEndObject();
+  }
+
+  private static void writeControls(JsonGenerator generator,
+                                    List<FormControlDescriptor> controls,
+                                    Function<FormControlDescriptor, Object> values) throws IOException {
+    generator.writeStartArray();
+    for (FormControlDescriptor control : controls) {
+      writeControl(generator, control, values);
+    }
+    generator.writeEndArray();
+  }
+
+  private static void writeControl(JsonGenerator generator,
+                                   FormControlDescriptor control,
+                                   Function<FormControlDescriptor, Object> values) throws IOException {
+    generator.writeStartObject();
+    writeString(generator, "controlName", control.getControlName());
+    if (control.getControlProperties() != null) {
+      generator.writeArrayFieldStart("controlProperties");
+      for (PropertyDescriptor property : control.getControlProperties()) {
+        generator.writeStartObject();
+        generator.writeStringField("propertyName", property.getPropertyName());
+        generator.writeFieldName("propertyValue");
+        writeValue(generator, property.getPropertyValue());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+    }
+    writeString(generator, "controlLabel", control.getControlLabel());
+    writeString(generator, "controlType", control.getControlType());
+    writeString(generator, "controlHint", control.getControlHint());
+
+    Object value = values.apply(control);
+    if (value != null) {
+      generator.writeFieldName("controlValue");
+      writeValue(generator, value);
+    }
+
+    if (!isEmpty(control.getControlValidations())) {
+      generator.writeArrayFieldStart("controlValidations");
+      for (ValidationDescriptor validation : control.getControlValidations()) {
+        generator.writeStartObject();
+        generator.writeStringField("validationName", validation.getValidationName());
+        generator.writeFieldName("validationValue");
+        writeValue(generator, validation.getValidationValue());
+        generator.writeStringField("validationMessage", validation.getValidationMessage());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+    }
+    if (!isEmpty(control.getControlOptions())) {
+      generator.writeFieldName("controlOptions");
+      writeNVP(generator, control.getControlOptions());
+    }
+    if (!isEmpty(control.getControlKeysAsTitle())) {
+      generator.writeFieldName("controlKeysAsTitle");
+      writeStrings(generator, control.getControlKeysAsTitle());
+    }
+    if (!isEmpty(control.getControlChildren())) {
+      generator.writeFieldName("controlChildren");
+      writeControls(generator, control.getControlChildren(), FormControlDescriptor::getControlValue);
+    }
+    if (control.getControlSearch() != null) {
+      generator.writeFieldName("controlSearch");
+      writeSearch(generator, control.getControlSearch());
+    }
+    if (!isEmpty(control.getControlAccept())) {
+      generator.writeFieldName("controlAccept");
+      writeStrings(generator, control.getControlAccept());
+    }
+    if (control.getControlSizeLimit() != null) {
+      generator.writeNumberField("controlSizeLimit", control.getControlSizeLimit());
+    }
+    writeString(generator, "endpointForOptions", control.getEndpointForOptions());
+    generator.writeEndObject();
+  }
+
+  private static void writeSearch(JsonGenerator generator, AutocompleteDescriptor search) throws IOException {
+    generator.writeStartObject();
+    writeString(generator, "endpoint", search.getEndpoint());
+    writeString(generator, "displayKey", search.getDisplayKey());
+    if (search.getDefaultParams() != null) {
+      generator.writeFieldName("defaultParams");
+      writeNVP(generator, search.getDefaultParams());
+    }
+    if (search.getFilters() != null) {
+      generator.writeFieldName("filters");
+      writeControls(generator, search.getFilters(), FormControlDescriptor::getControlValue);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeGroup(JsonGenerator generator, FormGroupDescriptor group) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("name", group.getName());
+    generator.writeFieldName("ids");
+    if (group.getIds() == null) {
+      generator.writeNull();
+    } else {
+      writeStrings(generator, group.getIds());
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeNVP(JsonGenerator generator, List<NVP> nvpList) throws IOException {
+    generator.writeStartArray();
+    for (NVP nvp : nvpList) {
+      generator.writeStartObject();
+      generator.writeStringField("key", nvp.getKey());
+      generator.writeStringField("value", nvp.getValue());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private static void writeStrings(JsonGenerator generator, List<String> strings) throws IOException {
+    generator.writeStartArray();
+    for (String string : strings) {
+      generator.writeString(string);
+    }
+    generator.writeEndArray();
+  }
+
+  /**
+   * Method for writing a value, the strings, booleans and common numbers being written directly as
+   * going through the codec creates a serializer provider per value
+   *
+   * @param generator the json generator
+   * @param value     the value
+   * @throws IOException when the value cannot be written
+   */
+  private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      generator.writeNumber((Integer) value);
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else {
+      generator.writeObject(value);
+    }
+  }
+
+  private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+    if (value != null) {
+      generator.writeStringField(name, value);
+    }
+  }
+
+  private static void writeBoolean(JsonGenerator generator, String name, Boolean value) throws IOException {
+    if (value != null) {
+      generator.writeBooleanField(name, value);
+    }
+  }
+
+  private static boolean isDefault(JsonInclude.Include include) {
+    return include == JsonInclude.Include.ALWAYS || include == JsonInclude.Include.USE_DEFAULTS;
+  }
+
+  private static boolean isEmpty(Collection<?> collection) {
+    return collection == null || collection.isEmpty();
+  }
+
+}
@@ -0,0 +1,96 @@
+package com.vedrax.descriptor.form;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-encoded json of a form, optionally pre-compressed, with the strong entity tag of each encoding.
+ * The byte arrays are shared between the requests and must not be modified.
+ */
+public final class FormJson {
+
+  private final byte[] json;
+  private final byte[] gzip;
+  private final String eTag;
+  private final String gzipETag;
+
+  public FormJson(byte[] json, boolean compress) {
+    Validate.notNull(json, "json must be provided");
+
+    String digest = DigestUtils.md5DigestAsHex(json);
+
+    this.json = json;
+    this.gzip = compress ? compress(json) : null;
+    this.eTag = "\"" + digest + "\"";
+    this.gzipETag = "\"" + digest + "-gzip\"";
+  }
+
+  /**
+   * Method for getting the json bytes
+   *
+   * @return the json encoded in UTF-8
+   */
+  public byte[] getJson() {
+    return json;
+  }
+
+  /**
+   * Method for getting the compressed json bytes
+   *
+   * @return the json compressed with gzip, null when not compressed
+   */
+  public byte[] getGzip() {
+    return gzip;
+  }
+
+  /**
+   * Method for getting the entity tag of an encoding
+   *
+   * @param gzip flag set to true for the compressed json
+   * @return the strong entity tag
+   */
+  public String getETag(boolean gzip) {
+    return gzip ? gzipETag : eTag;
+  }
+
+  /**
+   * Method for checking whether the If-None-Match header matches the entity tag of an encoding
+   *
+   * @param ifNoneMatch the If-None-Match header, may be null
+   * @param gzip        flag set to true for the compressed json
+   * @return true when the client already holds the json
+   */
+  public boolean matches(String ifNoneMatch, boolean gzip) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+
+    String current = getETag(gzip);
+    for (String tag : ifNoneMatch.split(",")) {
+      String candidate = tag.trim();
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals("*") || candidate.equals(current)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] compress(byte[] json) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 32);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(json);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return out.toByteArray();
+  }
+
+}
@@ -0,0 +1,125 @@
+package com.vedrax.descriptor.form;
+
+import com.vedrax.descriptor.FormDto;
+import org.apache.commons.lang3.Validate;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the pre-encoded json of the create forms.
+ * <p>
+ * Without a source, the json of a form only depends on the dto class, the request attributes and
+ * the locale, which make up the key. The least recently used entries are evicted when the cache
+ * is full, and {@link #invalidate()} should be called when the messages are reloaded.
+ */
+public class FormJsonCache {
+
+  private final Map<Key, FormJson> entries;
+
+  public FormJsonCache(int maxSize) {
+    Validate.isTrue(maxSize > 0, "max size must be positive");
+
+    this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, FormJson>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, FormJson> eldest) {
+        return size() > maxSize;
+      }
+    });
+  }
+
+  /**
+   * Method for getting the json of a create form, the json being encoded when missing
+   *
+   * @param formDto the form params, without source
+   * @param locale  the locale
+   * @param encoder the json encoder
+   * @return the json
+   */
+  public FormJson get(FormDto formDto, Locale locale, Supplier<FormJson> encoder) {
+    Validate.notNull(formDto, "formDto must be provided");
+    Validate.isTrue(formDto.getSource() == null, "only the forms without source can be cached");
+    Validate.notNull(locale, "locale must be provided");
+    Validate.notNull(encoder, "encoder must be provided");
+
+    Key key = new Key(formDto, locale);
+
+    FormJson json = entries.get(key);
+    if (json == null) {
+      //encoded outside of the lock, a concurrent encoding of the same form is harmless
+      json = encoder.get();
+      entries.put(key, json);
+    }
+
+    return json;
+  }
+
+  /**
+   * Method for removing all the entries, e.g. when the messages are reloaded
+   */
+  public void invalidate() {
+    entries.clear();
+  }
+
+  /**
+   * Method for getting the number of cached entries
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Key of an entry
+   */
+  private static final class Key {
+
+    private final Class<?> dto;
+    private final String endpoint;
+    private final String method;
+    private final Boolean multipart;
+    private final boolean updateTable;
+    private final String title;
+    private final String successMessage;
+    private final String successURL;
+    private final Locale locale;
+
+    private Key(FormDto formDto, Locale locale) {
+      this.dto = formDto.getDto();
+      this.endpoint = formDto.getEndpoint();
+      this.method = formDto.getMethod();
+      this.multipart = formDto.getMultipart();
+      this.updateTable = formDto.isUpdateTable();
+      this.title = formDto.getTitle();
+      this.successMessage = formDto.getSuccessMessage();
+      this.successURL = formDto.getSuccessURL();
+      this.locale = locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return dto == other.dto
+        && updateTable == other.updateTable
+        && Objects.equals(endpoint, other.endpoint)
+        && Objects.equals(method, other.method)
+        && Objects.equals(multipart, other.multipart)
+        && Objects.equals(title, other.title)
+        && Objects.equals(successMessage, other.successMessage)
+        && Objects.equals(successURL, other.successURL)
+        && locale.equals(other.locale);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dto, endpoint, method, multipart, updateTable, title, successMessage, successURL, locale);
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package com.vedrax.descriptor.form;
+
+import com.vedrax.descriptor.components.*;
+import com.vedrax.descriptor.lov.NVP;
+import org.apache.commons.lang3.Validate;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the form descriptor templates by dto class, locale and source presence.
+ * <p>
+ * A template holds the controls, groups and button labels, which only depend on the class and
+ * the messages of the locale. The templates are only shared for streaming serialization, each
+ * request otherwise getting a deep copy on which the source values are bound. The least recently
+ * used templates are evicted when the cache is full, and {@link #invalidate()} should be called
+ * when the messages are reloaded.
+ */
+public class FormTemplateCache {
+
+  private final Map<Key, FormDescriptor> templates;
+
+  public FormTemplateCache(int maxSize) {
+    Validate.isTrue(maxSize > 0, "max size must be positive");
+
+    this.templates = Collections.synchronizedMap(new LinkedHashMap<Key, FormDescriptor>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, FormDescriptor> eldest) {
+        return size() > maxSize;
+      }
+    });
+  }
+
+  /**
+   * Method for getting a copy of the template, the template being built when missing
+   *
+   * @param dto       the dto class
+   * @param locale    the locale
+   * @param hasSource flag set to true when the form is bound to a source
+   * @param builder   the template builder
+   * @return a copy of the template
+   */
+  public FormDescriptor get(Class<?> dto, Locale locale, boolean hasSource, Supplier<FormDescriptor> builder) {
+    return copy(getTemplate(dto, locale, hasSource, builder));
+  }
+
+  /**
+   * Method for getting the shared template, the template being built when missing.
+   * The template and its controls must not be modified.
+   *
+   * @param dto       the dto class
+   * @param locale    the locale
+   * @param hasSource flag set to true when the form is bound to a source
+   * @param builder   the template builder
+   * @return the template
+   */
+  public FormDescriptor getTemplate(Class<?> dto, Locale locale, boolean hasSource, Supplier<FormDescriptor> builder) {
+    Validate.notNull(dto, "dto class must be provided");
+    Validate.notNull(locale, "locale must be provided");
+    Validate.notNull(builder, "builder must be provided");
+
+    Key key = new Key(dto, locale, hasSource);
+
+    FormDescriptor template = templates.get(key);
+    if (template == null) {
+      //built outside of the lock, a concurrent build of the same template is harmless
+      template = builder.get();
+      templates.put(key, template);
+    }
+
+    return template;
+  }
+
+  /**
+   * Method for removing all the templates, e.g. when the messages are reloaded
+   */
+  public void invalidate() {
+    templates.clear();
+  }
+
+  /**
+   * Method for removing the templates of a dto class
+   *
+   * @param dto the dto class
+   */
+  public void invalidate(Class<?> dto) {
+    Validate.notNull(dto, "dto class must be provided");
+
+    synchronized (templates) {
+      templates.keySet().removeIf(key -> key.dto == dto);
+    }
+  }
+
+  /**
+   * Method for getting the number of cached templates
+   *
+   * @return the number of templates
+   */
+  public int size() {
+    return templates.size();
+  }
+
+  private static FormDescriptor copy(FormDescriptor template) {
+    FormDescriptor formDescriptor = new FormDescriptor();
+    formDescriptor.setControls(copyControls(template.getControls()));
+    for (FormGroupDescriptor group : template.getGroups()) {
+      FormGroupDescriptor formGroupDescriptor = new FormGroupDescriptor();
+      formGroupDescriptor.setName(group.getName());
+      formGroupDescriptor.setIds(new ArrayList<>(group.getIds()));
+      formDescriptor.addGroup(formGroupDescriptor);
+    }
+    formDescriptor.setSubmitLabel(template.getSubmitLabel());
+    formDescriptor.setCancelLabel(template.getCancelLabel());
+    return formDescriptor;
+  }
+
+  private static List<FormControlDescriptor> copyControls(List<FormControlDescriptor> templates) {
+    List<FormControlDescriptor> controls = new ArrayList<>(templates.size());
+    for (FormControlDescriptor template : templates) {
+      controls.add(copy(template));
+    }
+    return controls;
+  }
+
+  private static FormControlDescriptor copy(FormControlDescriptor template) {
+    FormControlDescriptor control = new FormControlDescriptor();
+    control.setControlName(template.getControlName());
+    control.setControlLabel(template.getControlLabel());
+    control.setControlType(template.getControlType());
+    control.setControlHint(template.getControlHint());
+    control.setControlValue(template.getControlValue());
+    control.setControlSizeLimit(template.getControlSizeLimit());
+    control.setEndpointForOptions(template.getEndpointForOptions());
+
+    for (PropertyDescriptor property : template.getControlProperties()) {
+      control.addProperty(new PropertyDescriptor(property.getPropertyName(), property.getPropertyValue()));
+    }
+
+    for (ValidationDescriptor validation : template.getControlValidations()) {
+      ValidationDescriptor validationDescriptor = new ValidationDescriptor();
+      validationDescriptor.setValidationName(validation.getValidationName());
+      validationDescriptor.setValidationValue(validation.getValidationValue());
+      validationDescriptor.setValidationMessage(validation.getValidationMessage());
+      control.addValidation(validationDescriptor);
+    }
+
+    control.setControlOptions(copyNVP(template.getControlOptions()));
+    control.setControlKeysAsTitle(new ArrayList<>(template.getControlKeysAsTitle()));
+    control.setControlChildren(copyControls(template.getControlChildren()));
+    control.setControlAccept(new ArrayList<>(template.getControlAccept()));
+
+    AutocompleteDescriptor search = template.getControlSearch();
+    if (search != null) {
+      AutocompleteDescriptor autocompleteDescriptor = new AutocompleteDescriptor();
+      autocompleteDescriptor.setEndpoint(search.getEndpoint());
+      autocompleteDescriptor.setDisplayKey(search.getDisplayKey());
+      autocompleteDescriptor.setDefaultParams(copyNVP(search.getDefaultParams()));
+      autocompleteDescriptor.setFilters(copyControls(search.getFilters()));
+      control.setControlSearch(autocompleteDescriptor);
+    }
+
+    return control;
+  }
+
+  private static List<NVP> copyNVP(List<NVP> templates) {
+    List<NVP> nvpList = new ArrayList<>(templates.size());
+    for (NVP nvp : templates) {
+      nvpList.add(new NVP(nvp.getKey(), nvp.getValue()));
+    }
+    return nvpList;
+  }
+
+  /**
+   * Key of a template
+   */
+  private static final class Key {
+
+    private final Class<?> dto;
+    private final Locale locale;
+    private final boolean hasSource;
+
+    private Key(Class<?> dto, Locale locale, boolean hasSource) {
+      this.dto = dto;
+      this.locale = locale;
+      this.hasSource = hasSource;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return dto == other.dto && hasSource == other.hasSource && locale.equals(other.locale);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(dto, locale, hasSource);
+    }
+  }
+}
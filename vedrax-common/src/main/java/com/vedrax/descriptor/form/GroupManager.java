@@ -1,9 +1,9 @@
 package com.vedrax.descriptor.form;
 
-import com.vedrax.descriptor.annotations.Group;
-import com.vedrax.descriptor.annotations.Groups;
 import com.vedrax.descriptor.components.FormDescriptor;
 import com.vedrax.descriptor.components.FormGroupDescriptor;
+import com.vedrax.descriptor.model.FormModelFactory;
+import com.vedrax.descriptor.model.GroupModel;
 import org.apache.commons.lang3.Validate;
 import org.springframework.util.CollectionUtils;
 
@@ -23,7 +23,7 @@ public class GroupManager {
   }
 
   /**
-   * Method for getting groups
+   * Method for getting groups from the compiled form model
    *
    * @return list of groups
    */
@@ -32,28 +32,13 @@ public class GroupManager {
     
     List<FormGroupDescriptor> groups = new ArrayList<>();
 
-    Optional<Groups> optionalGroups = getGroupsAnnotation(sourceClass);
-    if (optionalGroups.isPresent()) {
-      for (Group group : optionalGroups.get().groups()) {
-        FormGroupDescriptor formGroupDescriptor = createGroup(group);
-        groups.add(formGroupDescriptor);
-      }
+    for (GroupModel group : FormModelFactory.getModel(sourceClass).getGroups()) {
+      groups.add(createGroup(group.getName(), new ArrayList<>(group.getProperties())));
     }
 
     formDescriptor.setGroups(groups);
   }
 
-  /**
-   * Method for getting Groups annotation
-   *
-   * @param dtoClass the dto class
-   * @return the optional Groups
-   */
-  private Optional<Groups> getGroupsAnnotation(Class<?> dtoClass) {
-    Groups annotation = dtoClass.getDeclaredAnnotation(Groups.class);
-    return Optional.ofNullable(annotation);
-  }
-
   /**
    * Method for adding audit group to descriptor form
    *
@@ -75,19 +60,6 @@ public class GroupManager {
 
   }
 
-  /**
-   * Method for creating a group descriptor from annotation
-   *
-   * @param group the group annotation
-   * @return group descriptor
-   */
-  private FormGroupDescriptor createGroup(Group group) {
-    FormGroupDescriptor formGroupDescriptor = new FormGroupDescriptor();
-    formGroupDescriptor.setName(group.name());
-    formGroupDescriptor.setIds(Arrays.asList(group.properties()));
-    return formGroupDescriptor;
-  }
-
   /**
    * Method for creating a group
    *
@@ -0,0 +1,138 @@
+package com.vedrax.descriptor.lov;
+
+import com.vedrax.descriptor.model.FieldModel;
+import com.vedrax.descriptor.model.FormModel;
+import com.vedrax.descriptor.model.FormModelFactory;
+import com.vedrax.util.MessageResolver;
+import com.vedrax.util.MessagesReloadedEvent;
+import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service caching the list of values of the enums by locale.
+ * <p>
+ * The option lists are built lazily and shared between the forms, so they are unmodifiable and their
+ * options must be copied before being changed. The enums used by a form are registered on first use,
+ * the others can be registered with {@link #register(Class[])} or {@link #registerGenerated(ClassLoader)} to be
+ * served by {@link #getAllOptions(Locale)}.
+ * The options of the least recently used locales are evicted beyond {@code vedrax.lov.max-locales}
+ * (16 by default).
+ */
+@Service
+public class LovCache {
+
+  public static final int DEFAULT_MAX_LOCALES = 16;
+
+  private final MessageResolver messageResolver;
+  private final Set<Class<? extends EnumWithValue>> enumTypes = ConcurrentHashMap.newKeySet();
+  private final Map<Locale, ConcurrentMap<Class<? extends EnumWithValue>, List<NVP>>> options;
+
+  public LovCache(MessageResolver messageResolver) {
+    this(messageResolver, DEFAULT_MAX_LOCALES);
+  }
+
+  @Autowired
+  public LovCache(MessageResolver messageResolver,
+                  @Value("${vedrax.lov.max-locales:" + DEFAULT_MAX_LOCALES + "}") int maxLocales) {
+    Validate.notNull(messageResolver, "message resolver must be provided");
+    Validate.isTrue(maxLocales > 0, "max locales must be positive");
+
+    this.messageResolver = messageResolver;
+    this.options = Collections.synchronizedMap(new LinkedHashMap<Locale, ConcurrentMap<Class<? extends EnumWithValue>, List<NVP>>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Locale, ConcurrentMap<Class<? extends EnumWithValue>, List<NVP>>> eldest) {
+        return size() > maxLocales;
+      }
+    });
+  }
+
+  /**
+   * Method for registering enums served by {@link #getAllOptions(Locale)}
+   *
+   * @param types the enum types
+   */
+  @SafeVarargs
+  public final void register(Class<? extends EnumWithValue>... types) {
+    for (Class<? extends EnumWithValue> type : types) {
+      Validate.isTrue(type.isEnum(), "The type %s is not an enum", type.getName());
+      enumTypes.add(type);
+    }
+  }
+
+  /**
+   * Method for registering the enums of the form models generated at build time, so that they are served by
+   * {@link #getAllOptions(Locale)} before any form is rendered
+   *
+   * @param classLoader the class loader of the dto classes
+   */
+  public void registerGenerated(ClassLoader classLoader) {
+    for (FormModel model : FormModelFactory.getGeneratedModels(classLoader)) {
+      for (FieldModel field : model.getFields()) {
+        if (field.getLovType() != null) {
+          register(field.getLovType());
+        }
+      }
+    }
+  }
+
+  /**
+   * Method for getting the options of an enum, the labels being resolved for the locale
+   *
+   * @param enumType the type of enum
+   * @param locale   the locale
+   * @return the unmodifiable list of options
+   */
+  public List<NVP> getOptions(Class<? extends EnumWithValue> enumType, Locale locale) {
+    Validate.notNull(enumType, "enum type must be provided");
+    Validate.notNull(locale, "locale must be provided");
+
+    return options.computeIfAbsent(locale, k -> new ConcurrentHashMap<>())
+      .computeIfAbsent(enumType, type -> createOptions(type, locale));
+  }
+
+  /**
+   * Method for getting the options of all the registered enums
+   *
+   * @param locale the locale
+   * @return the options keyed by enum class name
+   */
+  public Map<String, List<NVP>> getAllOptions(Locale locale) {
+    Validate.notNull(locale, "locale must be provided");
+
+    Map<String, List<NVP>> allOptions = new TreeMap<>();
+    for (Class<? extends EnumWithValue> enumType : enumTypes) {
+      allOptions.put(enumType.getName(), getOptions(enumType, locale));
+    }
+    return allOptions;
+  }
+
+  /**
+   * Method for removing the cached options, to be called when the messages are reloaded
+   */
+  @EventListener({ContextRefreshedEvent.class, MessagesReloadedEvent.class})
+  public void invalidate() {
+    options.clear();
+  }
+
+  private List<NVP> createOptions(Class<? extends EnumWithValue> enumType, Locale locale) {
+    register(enumType);
+
+    String className = enumType.getName();
+
+    EnumWithValue[] values = enumType.getEnumConstants();
+    List<NVP> nvpList = new ArrayList<>(values.length);
+    for (EnumWithValue enumWithValue : values) {
+      String key = "" + enumWithValue;
+      nvpList.add(new NVP(key, messageResolver.resolve(className + "." + key, locale)));
+    }
+    return Collections.unmodifiableList(nvpList);
+  }
+}
@@ -0,0 +1,44 @@
+package com.vedrax.descriptor.lov;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Controller serving the lists of values of all the registered enums in one response,
+ * so that clients can fetch them once.
+ * <p>
+ * The controller is only created when {@code vedrax.lov.enabled} is true. The enums of the form models
+ * generated by the vedrax processor are registered at startup, the others on first use or through
+ * {@link LovCache#register(Class[])}.
+ */
+@RestController
+@ConditionalOnProperty(name = "vedrax.lov.enabled", havingValue = "true")
+public class LovController {
+
+  private final LovCache lovCache;
+
+  public LovController(LovCache lovCache) {
+    Validate.notNull(lovCache, "lov cache must be provided");
+
+    this.lovCache = lovCache;
+    this.lovCache.registerGenerated(ClassUtils.getDefaultClassLoader());
+  }
+
+  /**
+   * Get the lists of values for the request locale
+   *
+   * @param locale the request locale
+   * @return the options keyed by enum class name
+   */
+  @GetMapping("${vedrax.lov.path:/lov}")
+  public Map<String, List<NVP>> getAllOptions(Locale locale) {
+    return lovCache.getAllOptions(locale == null ? Locale.ENGLISH : locale);
+  }
+}
@@ -0,0 +1,21 @@
+package com.vedrax.descriptor.model;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Handler compiling an annotation of a dto field into its field model
+ *
+ * @param <A> the annotation type
+ */
+@FunctionalInterface
+public interface AnnotationHandler<A extends Annotation> {
+
+  /**
+   * Method for applying the annotation to the field model
+   *
+   * @param annotation the annotation of the field
+   * @param builder    the field model builder
+   * @param controlKey the prefix of the message keys of the control, i.e. package.field
+   */
+  void handle(A annotation, FieldModel.FieldModelBuilder builder, String controlKey);
+}
@@ -0,0 +1,50 @@
+package com.vedrax.descriptor.model;
+
+import com.vedrax.descriptor.components.AutocompleteDescriptor;
+import com.vedrax.descriptor.components.PropertyDescriptor;
+import com.vedrax.descriptor.lov.EnumWithValue;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class represents the compiled form control of a dto field.
+ * <p>
+ * It only holds what is derived from the class and its annotations, the labels, hints and
+ * messages being kept as keys so that they can be resolved for each locale.
+ */
+@Value
+@Builder
+public class FieldModel {
+
+  private String name;
+  private String labelKey;
+  private String hintKey;
+  private boolean excludedWithSource;
+  private String controlType;
+  @Singular
+  private List<PropertyDescriptor> properties;
+  @Singular
+  private List<ValidationModel> validations;
+  /**
+   * The enum providing the options, if any
+   */
+  private Class<? extends EnumWithValue> lovType;
+  private AutocompleteDescriptor autocomplete;
+  @Singular("accept")
+  private List<String> accept;
+  private Integer sizeLimit;
+  @Singular("keyAsTitle")
+  private List<String> keysAsTitle;
+  private Class<?> childType;
+  /**
+   * The endpoints for options of the children, keyed by control name
+   */
+  @Singular
+  private Map<String, String> childEndpoints;
+  private String endpointForOptions;
+
+}
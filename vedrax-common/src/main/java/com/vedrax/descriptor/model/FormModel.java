@@ -0,0 +1,48 @@
+package com.vedrax.descriptor.model;
+
+import com.vedrax.descriptor.components.FormControlDescriptor;
+import com.vedrax.util.MessageKey;
+import lombok.Value;
+
+import java.util.*;
+
+/**
+ * Class represents the compiled form of a dto class
+ */
+@Value
+public class FormModel {
+
+  private Class<?> type;
+  private List<FieldModel> fields;
+  /**
+   * The groups in declaration order, a name being possibly declared twice
+   */
+  private List<GroupModel> groups;
+  /**
+   * The keys of all the messages of the fields, children and options excluded
+   */
+  private Set<MessageKey> messageKeys;
+
+  public FormModel(Class<?> type, List<FieldModel> fields, List<GroupModel> groups) {
+    this.type = type;
+    this.fields = fields;
+    this.groups = groups;
+    this.messageKeys = Collections.unmodifiableSet(collectMessageKeys(fields));
+  }
+
+  private static Set<MessageKey> collectMessageKeys(List<FieldModel> fields) {
+    Set<MessageKey> keys = new LinkedHashSet<>();
+    for (FieldModel field : fields) {
+      keys.add(MessageKey.of(field.getLabelKey()));
+      keys.add(MessageKey.of(field.getHintKey()));
+      field.getValidations().forEach(validation -> keys.add(validation.getMessage()));
+      if (field.getAutocomplete() != null) {
+        for (FormControlDescriptor filter : field.getAutocomplete().getFilters()) {
+          keys.add(MessageKey.of("filter." + filter.getControlName()));
+        }
+      }
+    }
+    return keys;
+  }
+
+}
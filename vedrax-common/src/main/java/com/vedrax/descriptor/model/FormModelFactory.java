@@ -0,0 +1,379 @@
+package com.vedrax.descriptor.model;
+
+import com.vedrax.descriptor.annotations.Properties;
+import com.vedrax.descriptor.annotations.*;
+import com.vedrax.descriptor.components.AutocompleteDescriptor;
+import com.vedrax.descriptor.components.FormControlDescriptor;
+import com.vedrax.descriptor.components.PropertyDescriptor;
+import com.vedrax.descriptor.enums.ControlType;
+import com.vedrax.descriptor.enums.ValidationType;
+import com.vedrax.descriptor.lov.EnumWithValue;
+import com.vedrax.descriptor.lov.NVP;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.validation.constraints.*;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Factory compiling the form model of a dto class.
+ * <p>
+ * The classes never change at runtime, so the reflection is done once per class and the model is
+ * cached for the lifetime of the class. The annotations of the fields are compiled by the handler
+ * registered for their type, applications registering their own handlers with
+ * {@link #registerHandler(Class, AnnotationHandler)} before any form is generated.
+ * <p>
+ * The model generated at build time by the vedrax processor, if any, is preferred over reflection,
+ * unless a handler has been registered for one of the annotations of the class.
+ */
+public final class FormModelFactory {
+
+  private static final Logger LOG = Logger.getLogger(FormModelFactory.class.getName());
+
+  private static final Map<Class<? extends Annotation>, AnnotationHandler<?>> HANDLERS = new ConcurrentHashMap<>();
+
+  /**
+   * The names of the annotation types whose handler has been registered by the application
+   */
+  private static final Set<String> CUSTOM_HANDLERS = ConcurrentHashMap.newKeySet();
+
+  static {
+    register(Properties.class, (properties, builder, controlKey) -> fromListOfProperties(properties, builder));
+    register(Component.class, (component, builder, controlKey) -> fromComponent(component, builder));
+    register(Children.class, (children, builder, controlKey) -> fromChildren(children, builder));
+    register(Lov.class, (lov, builder, controlKey) -> fromEnums(lov.enumType(), builder));
+    register(NotNull.class, (validation, builder, controlKey) -> fromValidation(ValidationType.required, true, builder, controlKey));
+    register(Size.class, FormModelFactory::fromSizeValidation);
+    register(Email.class, (validation, builder, controlKey) -> fromValidation(ValidationType.email, true, builder, controlKey));
+    register(Min.class, (validation, builder, controlKey) -> fromValidation(ValidationType.min, validation.value(), builder, controlKey));
+    register(Max.class, (validation, builder, controlKey) -> fromValidation(ValidationType.max, validation.value(), builder, controlKey));
+    register(NotEmpty.class, (validation, builder, controlKey) -> fromValidation(ValidationType.required, true, builder, controlKey));
+    register(NotBlank.class, (validation, builder, controlKey) -> fromValidation(ValidationType.required, true, builder, controlKey));
+    register(Autocomplete.class, (autocomplete, builder, controlKey) -> fromAutocomplete(autocomplete, builder));
+    register(Pattern.class, (validation, builder, controlKey) -> fromValidation(ValidationType.pattern, validation.regexp(), builder, controlKey));
+    register(Upload.class, (upload, builder, controlKey) -> fromUpload(upload, builder));
+  }
+
+  private static final ClassValue<FormModel> MODELS = new ClassValue<FormModel>() {
+    @Override
+    protected FormModel computeValue(Class<?> type) {
+      FormModel generated = loadGenerated(type);
+      return generated != null ? generated : compile(type);
+    }
+  };
+
+  private FormModelFactory() {
+  }
+
+  /**
+   * Method for getting the form model of a dto class
+   *
+   * @param type the dto class
+   * @return the cached form model
+   */
+  public static FormModel getModel(Class<?> type) {
+    Validate.notNull(type, "type must be provided");
+
+    return MODELS.get(type);
+  }
+
+  /**
+   * Method for registering the handler of an annotation type, replacing the previous one if any.
+   * The models already compiled are not affected.
+   *
+   * @param annotationType the annotation type
+   * @param handler        the handler
+   * @param <A>            the annotation type
+   */
+  public static <A extends Annotation> void registerHandler(Class<A> annotationType, AnnotationHandler<A> handler) {
+    Validate.notNull(annotationType, "annotation type must be provided");
+    Validate.notNull(handler, "handler must be provided");
+
+    CUSTOM_HANDLERS.add(annotationType.getName());
+    register(annotationType, handler);
+  }
+
+  private static <A extends Annotation> void register(Class<A> annotationType, AnnotationHandler<A> handler) {
+    HANDLERS.put(annotationType, handler);
+  }
+
+  /**
+   * Get the form models generated at build time, the providers being listed in {@code META-INF/services}
+   * by the vedrax processor
+   *
+   * @param classLoader the class loader of the dto classes
+   * @return the generated form models
+   */
+  public static List<FormModel> getGeneratedModels(ClassLoader classLoader) {
+    List<FormModel> models = new ArrayList<>();
+    for (FormModelProvider provider : ServiceLoader.load(FormModelProvider.class, classLoader)) {
+      models.add(provider.get());
+    }
+    return models;
+  }
+
+  /**
+   * Load the form model generated at build time
+   *
+   * @param type the dto class
+   * @return the form model or null when not generated or not applicable
+   */
+  private static FormModel loadGenerated(Class<?> type) {
+    String name = type.getName();
+    String packageName = type.getPackage() != null ? type.getPackage().getName() : "";
+    String simpleName = packageName.isEmpty() ? name : name.substring(packageName.length() + 1);
+    String providerName = name.substring(0, name.length() - simpleName.length()) + simpleName.replace('$', '_') + FormModelProvider.SUFFIX;
+
+    FormModelProvider provider;
+    try {
+      Class<?> providerClass = Class.forName(providerName, true, type.getClassLoader());
+      provider = (FormModelProvider) providerClass.getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException ex) {
+      return null;
+    } catch (ReflectiveOperationException | ClassCastException ex) {
+      LOG.log(Level.WARNING, ex, () -> String.format("Cannot load the generated form model %s", providerName));
+      return null;
+    }
+
+    if (!Collections.disjoint(provider.getAnnotationTypes(), CUSTOM_HANDLERS)) {
+      return null;
+    }
+
+    return provider.get();
+  }
+
+  /**
+   * Compile the form model with reflection, ignoring any generated model
+   *
+   * @param type the dto class
+   * @return the form model
+   */
+  static FormModel compile(Class<?> type) {
+    String packageName = type.getPackage().getName();
+
+    List<FieldModel> fields = new ArrayList<>();
+    for (Field field : FieldUtils.getAllFields(type)) {
+      fields.add(compileField(field, packageName));
+    }
+
+    List<GroupModel> groups = new ArrayList<>();
+    Groups annotation = type.getDeclaredAnnotation(Groups.class);
+    if (annotation != null) {
+      for (Group group : annotation.groups()) {
+        groups.add(new GroupModel(group.name(), Collections.unmodifiableList(Arrays.asList(group.properties()))));
+      }
+    }
+
+    return new FormModel(type, Collections.unmodifiableList(fields), Collections.unmodifiableList(groups));
+  }
+
+  /**
+   * Compile the form control of a field
+   *
+   * @param field       the field of the dto class
+   * @param packageName the package of the dto class
+   * @return the field model
+   */
+  private static FieldModel compileField(Field field, String packageName) {
+    String controlKey = String.format("%s.%s", packageName, field.getName());
+
+    FieldModel.FieldModelBuilder builder = FieldModel.builder()
+      .name(field.getName())
+      .labelKey(controlKey + ".label")
+      .hintKey(controlKey + ".hint")
+      .excludedWithSource(field.isAnnotationPresent(Null.class));
+
+    initControlWithType(field, builder);
+    initControlWithAnnotations(field, builder, controlKey);
+
+    return builder.build();
+  }
+
+  /**
+   * Init control type
+   *
+   * @param field   the field of the dto class
+   * @param builder the field model builder
+   */
+  private static void initControlWithType(Field field, FieldModel.FieldModelBuilder builder) {
+
+    Class<?> type = field.getType();
+
+    if (Date.class.isAssignableFrom(type)) {
+      builder.controlType(String.valueOf(ControlType.datepicker));
+    } else if (Integer.class.isAssignableFrom(type)
+      || Double.class.isAssignableFrom(type)
+      || BigDecimal.class.isAssignableFrom(type)) {
+      builder.controlType(String.valueOf(ControlType.input));
+      builder.property(new PropertyDescriptor("type", "number"));
+    } else if (Boolean.class.isAssignableFrom(type)) {
+      builder.controlType(String.valueOf(ControlType.checkbox));
+    } else if (MultipartFile.class.isAssignableFrom(type)) {
+      builder.controlType(String.valueOf(ControlType.upload));
+    } else {
+      builder.controlType(String.valueOf(ControlType.input));
+    }
+
+  }
+
+  /**
+   * Init control with annotations, each annotation being dispatched to the handler of its type
+   *
+   * @param field      the field of the dto class
+   * @param builder    the field model builder
+   * @param controlKey the prefix of the message keys of the control
+   */
+  @SuppressWarnings("unchecked")
+  private static void initControlWithAnnotations(Field field, FieldModel.FieldModelBuilder builder, String controlKey) {
+
+    for (Annotation annotation : field.getDeclaredAnnotations()) {
+      AnnotationHandler<Annotation> handler = (AnnotationHandler<Annotation>) HANDLERS.get(annotation.annotationType());
+      if (handler != null) {
+        handler.handle(annotation, builder, controlKey);
+      }
+    }
+
+  }
+
+  /**
+   * Method for generating upload file component
+   *
+   * @param upload  the upload annotation
+   * @param builder the field model builder
+   */
+  private static void fromUpload(Upload upload, FieldModel.FieldModelBuilder builder) {
+    builder.controlType(String.valueOf(ControlType.upload));
+
+    if (upload.acceptedTypes().length > 0) {
+      builder.accept(Arrays.asList(upload.acceptedTypes()));
+      builder.sizeLimit(upload.sizeLimit());
+    }
+  }
+
+  /**
+   * Method for declaring the enum providing the options
+   *
+   * @param enumType the type of enum
+   * @param builder  the field model builder
+   */
+  private static void fromEnums(Class<? extends EnumWithValue> enumType, FieldModel.FieldModelBuilder builder) {
+    builder.lovType(enumType);
+    builder.controlType("select");
+  }
+
+  /**
+   * Method for generating the autocomplete descriptor, the filter labels being resolved per locale
+   *
+   * @param autocomplete the autocomplete annotation
+   * @param builder      the field model builder
+   */
+  private static void fromAutocomplete(Autocomplete autocomplete, FieldModel.FieldModelBuilder builder) {
+    builder.controlType(String.valueOf(ControlType.autocomplete));
+
+    AutocompleteDescriptor autocompleteDescriptor = new AutocompleteDescriptor();
+    autocompleteDescriptor.setEndpoint(autocomplete.endpoint());
+    autocompleteDescriptor.setDisplayKey(autocomplete.displayAttribute());
+
+    //set params
+    for (String param : autocomplete.params()) {
+      String[] splitString = param.split(":");
+      autocompleteDescriptor.getDefaultParams().add(new NVP(splitString[0], splitString[1]));
+    }
+
+    //set filters
+    for (SearchFilter filter : autocomplete.filters()) {
+      FormControlDescriptor searchDescriptor = new FormControlDescriptor();
+      searchDescriptor.setControlName(filter.controlName());
+      searchDescriptor.setControlType(filter.controlType());
+      if (StringUtils.isNotEmpty(filter.endpoint())) {
+        searchDescriptor.setEndpointForOptions(filter.endpoint());
+      }
+      autocompleteDescriptor.addFilter(searchDescriptor);
+    }
+
+    builder.autocomplete(autocompleteDescriptor);
+  }
+
+  /**
+   * Method for declaring children components, their controls being compiled with their own class
+   *
+   * @param children the children annotation
+   * @param builder  the field model builder
+   */
+  private static void fromChildren(Children children, FieldModel.FieldModelBuilder builder) {
+    builder.childType(children.type());
+    for (Endpoint endpoint : children.endpoints()) {
+      builder.childEndpoint(endpoint.key(), endpoint.url());
+    }
+    builder.keysAsTitle(Arrays.asList(children.controlKeysAsTitle()));
+    builder.controlType(String.valueOf(ControlType.arrayOfControls));
+  }
+
+  /**
+   * Method for overriding the control type
+   *
+   * @param component the component annotation
+   * @param builder   the field model builder
+   */
+  private static void fromComponent(Component component, FieldModel.FieldModelBuilder builder) {
+    //override the component type by default
+    builder.controlType(component.type());
+    if (StringUtils.isNotEmpty(component.endpoint())) {
+      builder.endpointForOptions(component.endpoint());
+    }
+  }
+
+  /**
+   * Method for including size validation
+   *
+   * @param sizeValidation the size annotation
+   * @param builder        the field model builder
+   * @param controlKey     the prefix of the message keys of the control
+   */
+  private static void fromSizeValidation(Size sizeValidation, FieldModel.FieldModelBuilder builder, String controlKey) {
+    if (sizeValidation.max() > 0) {
+      fromValidation(ValidationType.maxlength, sizeValidation.max(), builder, controlKey);
+    }
+
+    if (sizeValidation.min() > 0) {
+      fromValidation(ValidationType.minlength, sizeValidation.min(), builder, controlKey);
+    }
+  }
+
+  /**
+   * Method for adding validation
+   *
+   * @param validationType the validation type enum
+   * @param value          the validation value
+   * @param builder        the field model builder
+   * @param controlKey     the prefix of the message keys of the control
+   */
+  private static void fromValidation(ValidationType validationType,
+                                     Object value,
+                                     FieldModel.FieldModelBuilder builder,
+                                     String controlKey) {
+    String messageKey = String.format("%s.%s", controlKey, validationType);
+    builder.validation(new ValidationModel(validationType.getName(), value, messageKey));
+  }
+
+  /**
+   * Method for adding properties value to the field model
+   *
+   * @param listOfProperties the properties annotation
+   * @param builder          the field model builder
+   */
+  private static void fromListOfProperties(Properties listOfProperties, FieldModel.FieldModelBuilder builder) {
+    for (Property property : listOfProperties.properties()) {
+      builder.property(new PropertyDescriptor(property.propertyName(), property.propertyValue()));
+    }
+  }
+
+}
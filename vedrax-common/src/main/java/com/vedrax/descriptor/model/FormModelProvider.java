@@ -0,0 +1,32 @@
+package com.vedrax.descriptor.model;
+
+import java.util.Set;
+
+/**
+ * Provider of a form model generated at build time by the vedrax processor.
+ * <p>
+ * The provider of a dto class {@code com.acme.UserDto} is named {@code com.acme.UserDto_FormModel},
+ * the nested classes being flattened with underscores (e.g. {@code Outer_Inner_FormModel}).
+ */
+public interface FormModelProvider {
+
+  /**
+   * The suffix of the generated provider class names
+   */
+  String SUFFIX = "_FormModel";
+
+  /**
+   * Method for getting the form model
+   *
+   * @return the form model
+   */
+  FormModel get();
+
+  /**
+   * Method for getting the binary names of the annotation types found on the fields, so that the
+   * model is compiled with reflection when a handler has been registered for one of them
+   *
+   * @return the annotation type names
+   */
+  Set<String> getAnnotationTypes();
+}
@@ -0,0 +1,14 @@
+package com.vedrax.descriptor.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Class represents a compiled group of a dto class, one per {@code @Group} annotation
+ */
+@Value
+public class GroupModel {
+  private String name;
+  private List<String> properties;
+}
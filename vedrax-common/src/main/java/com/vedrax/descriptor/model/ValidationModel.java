@@ -0,0 +1,23 @@
+package com.vedrax.descriptor.model;
+
+import com.vedrax.util.MessageKey;
+import lombok.Value;
+
+/**
+ * Class represents a compiled validation of a form control, the message being resolved per locale
+ */
+@Value
+public class ValidationModel {
+  private String validationName;
+  private Object validationValue;
+  private String messageKey;
+
+  /**
+   * Get the message of the validation, the validation value being its argument
+   *
+   * @return the message key with its arguments
+   */
+  public MessageKey getMessage() {
+    return new MessageKey(messageKey, validationValue != null ? new Object[]{validationValue} : null);
+  }
+}
@@ -0,0 +1,16 @@
+package com.vedrax.util;
+
+import lombok.Value;
+
+/**
+ * Class represents a message to be resolved, by its code and its arguments if any
+ */
+@Value
+public class MessageKey {
+  private String code;
+  private Object[] args;
+
+  public static MessageKey of(String code) {
+    return new MessageKey(code, null);
+  }
+}
@@ -0,0 +1,159 @@
+package com.vedrax.util;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service resolving messages through a per-locale index of the already resolved keys.
+ * <p>
+ * The messages are looked up with a null default message, so that a missing key is returned as
+ * null instead of throwing an exception. The missing keys are indexed as well. The indexes of the least
+ * recently used locales are evicted beyond {@code vedrax.messages.max-locales} (16 by default), so that
+ * arbitrary request locales cannot grow the index.
+ * The hit and miss counts of the index are exposed as metrics, {@link #invalidate()} should
+ * be called when the messages are reloaded.
+ */
+@Service
+public class MessageResolver {
+
+  public static final int DEFAULT_MAX_LOCALES = 16;
+
+  private static final String MISSING = new String("");
+
+  private final MessageSource messageSource;
+  private final Map<Locale, ConcurrentMap<MessageKey, String>> index;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder missing = new LongAdder();
+
+  public MessageResolver(MessageSource messageSource) {
+    this(messageSource, DEFAULT_MAX_LOCALES);
+  }
+
+  @Autowired
+  public MessageResolver(MessageSource messageSource,
+                         @Value("${vedrax.messages.max-locales:" + DEFAULT_MAX_LOCALES + "}") int maxLocales) {
+    Validate.notNull(messageSource, "message source must be provided");
+    Validate.isTrue(maxLocales > 0, "max locales must be positive");
+
+    this.messageSource = messageSource;
+    this.index = Collections.synchronizedMap(new LinkedHashMap<Locale, ConcurrentMap<MessageKey, String>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Locale, ConcurrentMap<MessageKey, String>> eldest) {
+        return size() > maxLocales;
+      }
+    });
+  }
+
+  /**
+   * Method for getting a message
+   *
+   * @param key    the message key
+   * @param locale the locale
+   * @return the message or null when missing
+   */
+  public String resolve(MessageKey key, Locale locale) {
+    Validate.notNull(key, "key must be provided");
+    Validate.notNull(locale, "locale must be provided");
+
+    return resolve(key, getIndex(locale), locale);
+  }
+
+  /**
+   * Method for getting a message
+   *
+   * @param code   the message code
+   * @param locale the locale
+   * @return the message or null when missing
+   */
+  public String resolve(String code, Locale locale) {
+    return resolve(MessageKey.of(code), locale);
+  }
+
+  /**
+   * Method for getting the messages of a batch of keys in one pass
+   *
+   * @param keys   the message keys
+   * @param locale the locale
+   * @return the messages by key, missing messages being mapped to null
+   */
+  public Map<MessageKey, String> resolveAll(Collection<MessageKey> keys, Locale locale) {
+    Validate.notNull(keys, "keys must be provided");
+    Validate.notNull(locale, "locale must be provided");
+
+    ConcurrentMap<MessageKey, String> localeIndex = getIndex(locale);
+
+    Map<MessageKey, String> messages = new HashMap<>(keys.size() * 2);
+    for (MessageKey key : keys) {
+      messages.put(key, resolve(key, localeIndex, locale));
+    }
+    return messages;
+  }
+
+  /**
+   * Method for clearing the index, called on a context refresh or a {@link MessagesReloadedEvent}
+   */
+  @EventListener({ContextRefreshedEvent.class, MessagesReloadedEvent.class})
+  public void invalidate() {
+    index.clear();
+  }
+
+  /**
+   * Get the number of messages served by the index
+   *
+   * @return the hit count
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Get the number of messages looked up in the message source
+   *
+   * @return the miss count
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Get the number of looked up messages which do not exist
+   *
+   * @return the missing count
+   */
+  public long getMissing() {
+    return missing.sum();
+  }
+
+  private ConcurrentMap<MessageKey, String> getIndex(Locale locale) {
+    return index.computeIfAbsent(locale, k -> new ConcurrentHashMap<>());
+  }
+
+  private String resolve(MessageKey key, ConcurrentMap<MessageKey, String> localeIndex, Locale locale) {
+    String message = localeIndex.get(key);
+
+    if (message != null) {
+      hits.increment();
+    } else {
+      misses.increment();
+      message = messageSource.getMessage(key.getCode(), key.getArgs(), null, locale);
+      if (message == null) {
+        missing.increment();
+        message = MISSING;
+      }
+      localeIndex.putIfAbsent(key, message);
+    }
+
+    return message == MISSING ? null : message;
+  }
+}
@@ -8,7 +8,7 @@ import java.util.Locale;
 public class MessageUtil {
 
   /**
-   * Method for getting the message
+   * Method for getting the message, a missing message being returned as null without any exception
    *
    * @param key    the message key
    * @param params the parameters if any
@@ -22,7 +22,7 @@ public class MessageUtil {
     Validate.notNull(key, "key must be provided");
 
     try {
-      return messageSource.getMessage(key, params, locale);
+      return messageSource.getMessage(key, params, null, locale);
     } catch (Exception ex) {
       return null;
     }
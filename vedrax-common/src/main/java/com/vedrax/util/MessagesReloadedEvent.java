@@ -0,0 +1,20 @@
+package com.vedrax.util;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event to be published once the messages are reloaded, e.g. after
+ * {@code ReloadableResourceBundleMessageSource.clearCache()}, which does not refresh the context.
+ * <p>
+ * The message index, the lists of values, the form templates and the pre-encoded form json are
+ * invalidated on this event as on a context refresh.
+ */
+public class MessagesReloadedEvent extends ApplicationEvent {
+
+  /**
+   * @param source the reloaded message source
+   */
+  public MessagesReloadedEvent(Object source) {
+    super(source);
+  }
+}
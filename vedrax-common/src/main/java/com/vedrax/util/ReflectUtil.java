@@ -1,24 +1,87 @@
 package com.vedrax.util;
 
-import org.apache.commons.lang3.reflect.FieldUtils;
-
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ReflectUtil {
 
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * Marker of the attributes which are not declared by a class
+   */
+  private static final MethodHandle MISSING = MethodHandles.constant(Object.class, null);
+
+  /**
+   * The getters of each class by attribute name, resolved once per attribute
+   */
+  private static final ClassValue<ConcurrentMap<String, MethodHandle>> GETTERS = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+    @Override
+    protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   /**
    * Method for getting field from data source
    *
    * @param source        the data source
    * @param attributeName the attribute to search for
-   * @return the retrieved attribute information
+   * @return the retrieved attribute information, empty when the attribute is not declared or null
    */
   public static Optional<Object> getField(Object source, String attributeName) {
-    try {
-      return Optional.of(FieldUtils.readDeclaredField(source, attributeName, true));
-    } catch (Exception e) {
+    if (source == null || attributeName == null) {
       return Optional.empty();
     }
+
+    MethodHandle getter = getGetter(source.getClass(), attributeName);
+    if (getter == MISSING) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.ofNullable((Object) getter.invokeExact(source));
+    } catch (Throwable ex) {
+      throw new IllegalStateException(String.format("Cannot read the attribute %s", attributeName), ex);
+    }
+  }
+
+  /**
+   * Method for getting the cached getter of a declared field
+   *
+   * @param type          the class declaring the field
+   * @param attributeName the field name
+   * @return the getter typed (Object)Object or {@link #MISSING}
+   */
+  private static MethodHandle getGetter(Class<?> type, String attributeName) {
+    ConcurrentMap<String, MethodHandle> getters = GETTERS.get(type);
+
+    MethodHandle getter = getters.get(attributeName);
+    if (getter == null) {
+      getter = getters.computeIfAbsent(attributeName, name -> createGetter(type, name));
+    }
+    return getter;
+  }
+
+  private static MethodHandle createGetter(Class<?> type, String attributeName) {
+    try {
+      Field field = type.getDeclaredField(attributeName);
+      field.setAccessible(true);
+
+      MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        getter = MethodHandles.dropArguments(getter, 0, Object.class);
+      }
+      return getter.asType(GETTER_TYPE);
+    } catch (NoSuchFieldException | IllegalAccessException | SecurityException ex) {
+      return MISSING;
+    }
   }
 
 }
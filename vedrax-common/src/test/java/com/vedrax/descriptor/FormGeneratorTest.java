@@ -1,17 +1,24 @@
 package com.vedrax.descriptor;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vedrax.descriptor.components.FormDescriptor;
+import com.vedrax.descriptor.form.FormDescriptorWriter;
+import com.vedrax.util.MessagesReloadedEvent;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Date;
 import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 public class FormGeneratorTest {
 
@@ -22,7 +29,7 @@ public class FormGeneratorTest {
   public void setUp() {
     this.formGenerator = new FormGeneratorImpl(messageSource);
 
-    when(messageSource.getMessage(anyString(), any(Object[].class), any(Locale.class))).thenReturn("message");
+    when(messageSource.getMessage(anyString(), nullable(Object[].class), isNull(), any(Locale.class))).thenReturn("message");
   }
 
   @Test
@@ -83,6 +90,110 @@ public class FormGeneratorTest {
     //assertThat(formDescriptor.getGroups().get(1).getIds()).containsExactly("createdDate", "createdBy");
   }
 
+  @Test
+  public void givenCachedTemplate_whenGenerate_thenMessagesNotResolvedAgain() {
+
+    FormDto formDto = new FormDto.Builder(UserCreateDto.class,"endpoint").build();
+
+    FormDescriptor first = formGenerator.generate(formDto, Locale.FRENCH);
+    first.getControls().get(0).setControlLabel("changed");
+    first.getControls().get(0).getControlValidations().clear();
+    clearInvocations(messageSource);
+
+    FormDescriptor second = formGenerator.generate(formDto, Locale.FRENCH);
+
+    verify(messageSource, never()).getMessage(anyString(), nullable(Object[].class), isNull(), any(Locale.class));
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getControls().get(0).getControlLabel()).isEqualTo("message");
+    assertThat(second.getControls().get(0).getControlValidations()).hasSize(2);
+
+    formGenerator.invalidate();
+    formGenerator.generate(formDto, Locale.FRENCH);
+
+    verify(messageSource, atLeastOnce()).getMessage(anyString(), nullable(Object[].class), isNull(), any(Locale.class));
+  }
+
+  @Test
+  public void givenOnlyMessageSourceBean_whenCreateContext_thenFormGeneratorCreated() {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.registerBean("messageSource", MessageSource.class, () -> messageSource);
+      context.registerBean(FormGeneratorImpl.class);
+      context.refresh();
+
+      FormDto formDto = new FormDto.Builder(UserCreateDto.class, "endpoint").build();
+
+      assertThat(context.getBean(FormGenerator.class).generate(formDto, Locale.ENGLISH).getControls()).hasSize(4);
+    }
+  }
+
+  @Test
+  public void givenMessagesReloadedEvent_whenGenerate_thenTemplatesRebuilt() {
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.registerBean("messageSource", MessageSource.class, () -> messageSource);
+      context.registerBean(FormGeneratorImpl.class);
+      context.refresh();
+
+      FormGenerator generator = context.getBean(FormGenerator.class);
+      FormDto formDto = new FormDto.Builder(UserCreateDto.class, "endpoint").build();
+      generator.generate(formDto, Locale.ENGLISH);
+
+      when(messageSource.getMessage(anyString(), nullable(Object[].class), isNull(), any(Locale.class))).thenReturn("reloaded");
+      context.publishEvent(new MessagesReloadedEvent(messageSource));
+
+      assertThat(generator.generate(formDto, Locale.ENGLISH).getSubmitLabel()).isEqualTo("reloaded");
+    }
+  }
+
+  @Test
+  public void givenNonNullMapper_whenWrite_thenSameJsonAsBean() throws IOException {
+
+    ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    FormDto formDto = new FormDto.Builder(UserCreateDto.class, "endpoint").build();
+
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+      formGenerator.write(formDto, Locale.ENGLISH, generator);
+    }
+
+    assertThat(FormDescriptorWriter.supports(objectMapper)).isFalse();
+    assertThat(FormDescriptorWriter.supports(new ObjectMapper())).isTrue();
+    assertThat(writer.toString()).isEqualTo(objectMapper.writeValueAsString(formGenerator.generate(formDto, Locale.ENGLISH)));
+  }
+
+  @Test
+  public void givenForms_whenWrite_thenSameJsonAsBean() throws IOException {
+
+    UserVO userVO = new UserVO();
+    userVO.setEmail("finance@vedrax.com");
+    userVO.setFullName("Remy Penchenat");
+    userVO.setUserRole(UserRole.USER);
+    userVO.setCreatedBy("ADMIN");
+    userVO.setCreatedDate(new Date());
+
+    AssessmentEquipmentEntityVO assessmentEquipment = new AssessmentEquipmentEntityVO();
+    assessmentEquipment.setId(1L);
+    assessmentEquipment.setDesignation("designation");
+    assessmentEquipment.setControlDate(new Date());
+    assessmentEquipment.setPeriodicityValue(1);
+    assessmentEquipment.setActive(true);
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    for (FormDto formDto : new FormDto[]{
+      new FormDto.Builder(UserCreateDto.class, "endpoint").build(),
+      new FormDto.Builder(UserCreateDto.class, "endpoint").withSource(userVO).build(),
+      new FormDto.Builder(AssessmentEquipmentDto.class, "/test").build(),
+      new FormDto.Builder(AssessmentEquipmentDto.class, "/test/1").withMethod("PUT").withSource(assessmentEquipment).build()}) {
+
+      StringWriter writer = new StringWriter();
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+        formGenerator.write(formDto, Locale.ENGLISH, generator);
+      }
+
+      assertThat(writer.toString()).isEqualTo(objectMapper.writeValueAsString(formGenerator.generate(formDto, Locale.ENGLISH)));
+    }
+  }
+
   @Test
   public void test(){
 
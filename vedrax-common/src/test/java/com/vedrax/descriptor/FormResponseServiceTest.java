@@ -0,0 +1,110 @@
+package com.vedrax.descriptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class FormResponseServiceTest {
+
+  private MessageSource messageSource = mock(MessageSource.class);
+  private ObjectMapper objectMapper = new ObjectMapper();
+  private FormGenerator formGenerator;
+  private FormResponseService formResponseService;
+
+  @Before
+  public void setUp() {
+    this.formGenerator = new FormGeneratorImpl(messageSource);
+    this.formResponseService = new FormResponseService(formGenerator, objectMapper, 16, true);
+
+    when(messageSource.getMessage(anyString(), nullable(Object[].class), isNull(), any(Locale.class))).thenReturn("message");
+  }
+
+  @Test
+  public void givenCreateForm_whenWrite_thenCachedJsonWithETag() throws IOException {
+
+    FormDto formDto = new FormDto.Builder(UserCreateDto.class, "endpoint").build();
+    String expected = objectMapper.writeValueAsString(formGenerator.generate(formDto, Locale.ENGLISH));
+
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    formResponseService.write(formDto, Locale.ENGLISH, new MockHttpServletRequest(), first);
+
+    assertThat(first.getStatus()).isEqualTo(200);
+    assertThat(first.getContentAsString()).isEqualTo(expected);
+    assertThat(first.getHeader("ETag")).startsWith("\"").endsWith("\"");
+
+    //same form, even when built again, is served from the cache
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("If-None-Match", first.getHeader("ETag"));
+    MockHttpServletResponse second = new MockHttpServletResponse();
+    clearInvocations(messageSource);
+    formResponseService.write(new FormDto.Builder(UserCreateDto.class, "endpoint").build(), Locale.ENGLISH, request, second);
+
+    assertThat(second.getStatus()).isEqualTo(304);
+    assertThat(second.getContentAsByteArray()).isEmpty();
+    verifyNoInteractions(messageSource);
+
+    //another endpoint is another form
+    MockHttpServletResponse third = new MockHttpServletResponse();
+    formResponseService.write(new FormDto.Builder(UserCreateDto.class, "other").build(), Locale.ENGLISH, request, third);
+
+    assertThat(third.getStatus()).isEqualTo(200);
+    assertThat(third.getHeader("ETag")).isNotEqualTo(first.getHeader("ETag"));
+  }
+
+  @Test
+  public void givenReloadedMessages_whenInvalidate_thenNewETag() throws IOException {
+
+    FormDto formDto = new FormDto.Builder(UserCreateDto.class, "endpoint").build();
+
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    formResponseService.write(formDto, Locale.ENGLISH, new MockHttpServletRequest(), first);
+
+    when(messageSource.getMessage(anyString(), nullable(Object[].class), isNull(), any(Locale.class))).thenReturn("reloaded");
+    formResponseService.invalidate();
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("If-None-Match", first.getHeader("ETag"));
+    MockHttpServletResponse second = new MockHttpServletResponse();
+    formResponseService.write(formDto, Locale.ENGLISH, request, second);
+
+    assertThat(second.getStatus()).isEqualTo(200);
+    assertThat(second.getHeader("ETag")).isNotEqualTo(first.getHeader("ETag"));
+    assertThat(second.getContentAsString()).contains("reloaded").doesNotContain("\"message\"");
+  }
+
+  @Test
+  public void givenGzipAccepted_whenWrite_thenCompressedJson() throws IOException {
+
+    FormDto formDto = new FormDto.Builder(UserCreateDto.class, "endpoint").build();
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader("Accept-Encoding", "deflate, gzip;q=0.8");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    formResponseService.write(formDto, Locale.ENGLISH, request, response);
+
+    assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+    assertThat(response.getHeader("ETag")).endsWith("-gzip\"");
+
+    byte[] json;
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      json = StreamUtils.copyToByteArray(in);
+    }
+    assertThat(new String(json, StandardCharsets.UTF_8))
+      .isEqualTo(objectMapper.writeValueAsString(formGenerator.generate(formDto, Locale.ENGLISH)));
+  }
+
+}
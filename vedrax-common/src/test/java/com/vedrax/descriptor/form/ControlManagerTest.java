@@ -0,0 +1,133 @@
+package com.vedrax.descriptor.form;
+
+import com.vedrax.descriptor.annotations.Children;
+import com.vedrax.descriptor.annotations.Endpoint;
+import com.vedrax.descriptor.components.FormControlDescriptor;
+import com.vedrax.descriptor.components.FormDescriptor;
+import com.vedrax.descriptor.lov.LovCache;
+import com.vedrax.util.MessageResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ControlManagerTest {
+
+  private MessageResolver messageResolver;
+  private LovCache lovCache;
+
+  @Before
+  public void setUp() {
+    messageResolver = new MessageResolver(new StaticMessageSource());
+    lovCache = new LovCache(messageResolver);
+  }
+
+  @Test
+  public void givenSharedChildType_whenInit_thenChildrenRenderedOnce() {
+    ChildControlCache childCache = new ChildControlCache(ChildControlCache.DEFAULT_MAX_DEPTH);
+    ControlManager controlManager = new ControlManager(messageResolver, lovCache, childCache, Locale.ENGLISH);
+
+    FormDescriptor assessment = new FormDescriptor();
+    controlManager.init(AssessmentDto.class, false, assessment);
+    FormDescriptor equipment = new FormDescriptor();
+    controlManager.init(EquipmentDto.class, false, equipment);
+
+    List<FormControlDescriptor> measures = assessment.getControls().get(1).getControlChildren();
+
+    assertThat(measures).extracting(FormControlDescriptor::getControlName).containsExactly("label", "points");
+    assertThat(measures.get(1).getControlChildren()).extracting(FormControlDescriptor::getControlName).containsExactly("value");
+    assertThat(assessment.getControls().get(2).getControlChildren()).isSameAs(measures);
+    assertThat(equipment.getControls().get(0).getControlChildren()).isSameAs(measures);
+    assertThat(equipment.getControls().get(1).getControlChildren()).isNotSameAs(measures);
+    assertThat(equipment.getControls().get(1).getControlChildren().get(0).getEndpointForOptions()).isEqualTo("/labels");
+    assertThat(childCache.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void givenMaxSize_whenInit_thenLeastRecentlyUsedChildrenEvicted() {
+    ChildControlCache childCache = new ChildControlCache(ChildControlCache.DEFAULT_MAX_DEPTH, 1);
+    ControlManager controlManager = new ControlManager(messageResolver, lovCache, childCache, Locale.ENGLISH);
+
+    FormDescriptor first = new FormDescriptor();
+    controlManager.init(MeasureDto.class, false, first);
+    controlManager.init(AssessmentDto.class, false, new FormDescriptor());
+    FormDescriptor second = new FormDescriptor();
+    controlManager.init(MeasureDto.class, false, second);
+
+    //the points were evicted by the measures, so they are rendered again
+    assertThat(childCache.size()).isEqualTo(1);
+    assertThat(second.getControls().get(1).getControlChildren())
+      .isNotSameAs(first.getControls().get(1).getControlChildren())
+      .isEqualTo(first.getControls().get(1).getControlChildren());
+  }
+
+  @Test
+  public void givenCyclicChildren_whenInit_thenRejected() {
+    ControlManager controlManager = new ControlManager(messageResolver, lovCache, Locale.ENGLISH);
+
+    assertThatThrownBy(() -> controlManager.init(NodeDto.class, false, new FormDescriptor()))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Cyclic children");
+  }
+
+  @Test
+  public void givenMaxDepth_whenInit_thenDeeperChildrenRejected() {
+    ChildControlCache childCache = new ChildControlCache(1);
+    ControlManager controlManager = new ControlManager(messageResolver, lovCache, childCache, Locale.ENGLISH);
+
+    controlManager.init(PointDto.class, false, new FormDescriptor());
+    controlManager.init(MeasureDto.class, false, new FormDescriptor());
+
+    //the cached points are one level too deep below the measures
+    assertThatThrownBy(() -> controlManager.init(AssessmentDto.class, false, new FormDescriptor()))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("maximum depth of 1");
+  }
+
+  public static class AssessmentDto {
+    @NotNull
+    private String designation;
+    @Children(type = MeasureDto.class, controlKeysAsTitle = {"label"})
+    private List<MeasureDto> measures;
+    @Children(type = MeasureDto.class, controlKeysAsTitle = {"label"})
+    private List<MeasureDto> references;
+  }
+
+  public static class EquipmentDto {
+    @Children(type = MeasureDto.class, controlKeysAsTitle = {"label"})
+    private List<MeasureDto> measures;
+    @Children(type = MeasureDto.class, controlKeysAsTitle = {"label"}, endpoints = {@Endpoint(key = "label", url = "/labels")})
+    private List<MeasureDto> labelled;
+  }
+
+  public static class MeasureDto {
+    @NotNull
+    private String label;
+    @Children(type = PointDto.class, controlKeysAsTitle = {"value"})
+    private List<PointDto> points;
+  }
+
+  public static class PointDto {
+    @NotNull
+    private Double value;
+  }
+
+  public static class NodeDto {
+    @NotNull
+    private String name;
+    @Children(type = LeafDto.class, controlKeysAsTitle = {"name"})
+    private List<LeafDto> leaves;
+  }
+
+  public static class LeafDto {
+    @Children(type = NodeDto.class, controlKeysAsTitle = {"name"})
+    private List<NodeDto> nodes;
+  }
+
+}
@@ -0,0 +1,71 @@
+package com.vedrax.descriptor.lov;
+
+import com.vedrax.descriptor.UserRole;
+import com.vedrax.util.MessageResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LovCacheTest {
+
+  private LovCache lovCache;
+
+  @Before
+  public void setUp() {
+    StaticMessageSource messageSource = new StaticMessageSource();
+    messageSource.addMessage("com.vedrax.descriptor.UserRole.ADMIN", Locale.FRENCH, "Administrateur");
+    messageSource.addMessage("com.vedrax.descriptor.UserRole.USER", Locale.FRENCH, "Utilisateur");
+
+    lovCache = new LovCache(new MessageResolver(messageSource));
+  }
+
+  @Test
+  public void givenEnum_whenGetOptions_thenSharedListForLocale() {
+    List<NVP> options = lovCache.getOptions(UserRole.class, Locale.FRENCH);
+
+    assertThat(options).containsExactly(new NVP("ADMIN", "Administrateur"), new NVP("USER", "Utilisateur"));
+    assertThat(lovCache.getOptions(UserRole.class, Locale.FRENCH)).isSameAs(options);
+    assertThat(lovCache.getOptions(UserRole.class, Locale.ENGLISH)).extracting(NVP::getValue).containsOnlyNulls();
+    assertThatThrownBy(() -> options.add(new NVP())).isInstanceOf(UnsupportedOperationException.class);
+
+    lovCache.invalidate();
+
+    assertThat(lovCache.getOptions(UserRole.class, Locale.FRENCH)).isNotSameAs(options).isEqualTo(options);
+  }
+
+  @Test
+  public void givenRegisteredEnum_whenGetAllOptions_thenKeyedByClassName() {
+    lovCache.register(UserRole.class);
+
+    assertThat(lovCache.getAllOptions(Locale.FRENCH))
+      .containsOnlyKeys("com.vedrax.descriptor.UserRole")
+      .containsValue(lovCache.getOptions(UserRole.class, Locale.FRENCH));
+  }
+
+  @Test
+  public void givenGeneratedModels_whenRegisterGenerated_thenLovEnumsRegistered() {
+    lovCache.registerGenerated(getClass().getClassLoader());
+
+    assertThat(lovCache.getAllOptions(Locale.FRENCH)).containsKey("com.vedrax.descriptor.UserRole");
+  }
+
+  @Test
+  public void givenMaxLocales_whenGetOptionsOfOtherLocales_thenLeastRecentlyUsedEvicted() {
+    LovCache boundedCache = new LovCache(new MessageResolver(new StaticMessageSource()), 1);
+
+    List<NVP> options = boundedCache.getOptions(UserRole.class, Locale.FRENCH);
+
+    assertThat(boundedCache.getOptions(UserRole.class, Locale.FRENCH)).isSameAs(options);
+
+    boundedCache.getOptions(UserRole.class, Locale.ENGLISH);
+
+    assertThat(boundedCache.getOptions(UserRole.class, Locale.FRENCH)).isNotSameAs(options).isEqualTo(options);
+  }
+
+}
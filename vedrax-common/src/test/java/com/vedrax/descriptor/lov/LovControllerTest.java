@@ -0,0 +1,30 @@
+package com.vedrax.descriptor.lov;
+
+import com.vedrax.util.MessageResolver;
+import org.junit.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LovControllerTest {
+
+  private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+    .withBean(LovCache.class, () -> new LovCache(new MessageResolver(new StaticMessageSource())))
+    .withUserConfiguration(LovController.class);
+
+  @Test
+  public void givenNoProperty_whenCreateContext_thenNoController() {
+    contextRunner.run(context -> assertThat(context).doesNotHaveBean(LovController.class));
+  }
+
+  @Test
+  public void givenEnabled_whenGetAllOptions_thenGeneratedEnumsServedBeforeAnyForm() {
+    contextRunner.withPropertyValues("vedrax.lov.enabled=true").run(context ->
+      assertThat(context.getBean(LovController.class).getAllOptions(Locale.ENGLISH))
+        .containsKey("com.vedrax.descriptor.UserRole"));
+  }
+
+}
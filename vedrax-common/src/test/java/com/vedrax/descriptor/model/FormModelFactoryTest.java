@@ -0,0 +1,109 @@
+package com.vedrax.descriptor.model;
+
+import com.vedrax.descriptor.AssessmentEquipmentDto;
+import com.vedrax.descriptor.UserCreateDto;
+import com.vedrax.descriptor.UserRole;
+import com.vedrax.descriptor.annotations.Group;
+import com.vedrax.descriptor.annotations.Groups;
+import com.vedrax.descriptor.components.PropertyDescriptor;
+import org.junit.Test;
+
+import javax.validation.constraints.NotNull;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FormModelFactoryTest {
+
+  @Test
+  public void givenDtoClass_whenGetModel_thenCompiledOnce() {
+    FormModel formModel = FormModelFactory.getModel(UserCreateDto.class);
+
+    assertThat(FormModelFactory.getModel(UserCreateDto.class)).isSameAs(formModel);
+    assertThat(formModel.getGroups()).isEmpty();
+    assertThat(formModel.getFields()).extracting(FieldModel::getName)
+      .containsExactly("email", "password", "fullName", "userRole");
+
+    FieldModel email = formModel.getFields().get(0);
+    assertThat(email.getLabelKey()).isEqualTo("com.vedrax.descriptor.email.label");
+    assertThat(email.getValidations()).extracting(ValidationModel::getMessageKey)
+      .containsExactly("com.vedrax.descriptor.email.required", "com.vedrax.descriptor.email.email");
+
+    FieldModel userRole = formModel.getFields().get(3);
+    assertThat(userRole.getControlType()).isEqualTo("select");
+    assertThat(userRole.getLovType()).isEqualTo(UserRole.class);
+  }
+
+  @Test
+  public void givenNumberAndSizeFields_whenGetModel_thenTypeAndValidationsCompiled() {
+    FormModel formModel = FormModelFactory.getModel(AssessmentEquipmentDto.class);
+
+    FieldModel periodicity = formModel.getFields().get(2);
+    assertThat(periodicity.getControlType()).isEqualTo("input");
+    assertThat(periodicity.getProperties()).hasSize(1);
+    assertThat(periodicity.getProperties().get(0).getPropertyValue()).isEqualTo("number");
+    assertThat(periodicity.getValidations().get(0).getValidationValue()).isEqualTo(0L);
+
+    FieldModel comment = formModel.getFields().get(3);
+    assertThat(comment.getValidations()).extracting(ValidationModel::getValidationName).containsExactly("maxlength");
+    assertThat(formModel.getFields().get(4).getControlType()).isEqualTo("checkbox");
+  }
+
+  @Test
+  public void givenGeneratedModel_whenGetModel_thenSameAsReflection() throws Exception {
+    FormModelProvider provider = (FormModelProvider) Class.forName("com.vedrax.descriptor.AssessmentEquipmentDto_FormModel")
+      .getDeclaredConstructor().newInstance();
+
+    assertThat(provider.get()).isEqualTo(FormModelFactory.compile(AssessmentEquipmentDto.class));
+    assertThat(FormModelFactory.getModel(UserCreateDto.class)).isEqualTo(FormModelFactory.compile(UserCreateDto.class));
+    assertThat(provider.getAnnotationTypes()).contains("javax.validation.constraints.Min", "javax.validation.constraints.Size");
+  }
+
+  @Test
+  public void givenRegisteredHandler_whenGetModel_thenCustomAnnotationCompiled() {
+    FormModelFactory.registerHandler(Placeholder.class,
+      (placeholder, builder, controlKey) -> builder.property(new PropertyDescriptor("placeholder", placeholder.value())));
+
+    FieldModel code = FormModelFactory.getModel(PlaceholderDto.class).getFields().get(0);
+
+    assertThat(code.getValidations()).extracting(ValidationModel::getValidationName).containsExactly("required");
+    assertThat(code.getProperties()).extracting(PropertyDescriptor::getPropertyValue).containsExactly("ABC-123");
+  }
+
+  @Test
+  public void givenDuplicateGroupNames_whenGetModel_thenEachGroupKept() {
+    FormModel formModel = FormModelFactory.getModel(GroupedDto.class);
+
+    assertThat(formModel.getGroups()).extracting(GroupModel::getName).containsExactly("Detail", "Detail");
+    assertThat(formModel.getGroups().get(0).getProperties()).containsExactly("code");
+    assertThat(formModel.getGroups().get(1).getProperties()).containsExactly("label");
+    assertThat(formModel).isEqualTo(FormModelFactory.compile(GroupedDto.class));
+  }
+
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.FIELD)
+  public @interface Placeholder {
+    String value();
+  }
+
+  public static class PlaceholderDto {
+    @NotNull
+    @Placeholder("ABC-123")
+    private String code;
+  }
+
+  @Groups(groups = {
+    @Group(name = "Detail", properties = {"code"}),
+    @Group(name = "Detail", properties = {"label"})
+  })
+  public static class GroupedDto {
+    @NotNull
+    private String code;
+    @NotNull
+    private String label;
+  }
+
+}
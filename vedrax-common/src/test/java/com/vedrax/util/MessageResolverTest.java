@@ -0,0 +1,79 @@
+package com.vedrax.util;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageResolverTest {
+
+  private MessageResolver messageResolver;
+
+  @Before
+  public void setUp() {
+    StaticMessageSource messageSource = new StaticMessageSource();
+    messageSource.addMessage("submit.label", Locale.ENGLISH, "Submit");
+    messageSource.addMessage("name.maxlength", Locale.ENGLISH, "At most {0} characters");
+
+    messageResolver = new MessageResolver(messageSource);
+  }
+
+  @Test
+  public void givenKeys_whenResolveAll_thenMissingKeysMappedToNull() {
+    MessageKey submit = MessageKey.of("submit.label");
+    MessageKey maxLength = new MessageKey("name.maxlength", new Object[]{50});
+    MessageKey unknown = MessageKey.of("unknown.label");
+
+    Map<MessageKey, String> messages = messageResolver.resolveAll(Arrays.asList(submit, maxLength, unknown), Locale.ENGLISH);
+
+    assertThat(messages.get(submit)).isEqualTo("Submit");
+    assertThat(messages.get(maxLength)).isEqualTo("At most 50 characters");
+    assertThat(messages).containsKey(unknown);
+    assertThat(messages.get(unknown)).isNull();
+    assertThat(messageResolver.getMisses()).isEqualTo(3);
+    assertThat(messageResolver.getMissing()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenResolvedKey_whenResolveAgain_thenServedByIndex() {
+    messageResolver.resolve("submit.label", Locale.ENGLISH);
+    messageResolver.resolve("unknown.label", Locale.ENGLISH);
+
+    assertThat(messageResolver.resolve("submit.label", Locale.ENGLISH)).isEqualTo("Submit");
+    assertThat(messageResolver.resolve("unknown.label", Locale.ENGLISH)).isNull();
+    assertThat(messageResolver.resolve(new MessageKey("name.maxlength", new Object[]{50}), Locale.ENGLISH))
+      .isEqualTo(messageResolver.resolve(new MessageKey("name.maxlength", new Object[]{50}), Locale.ENGLISH));
+    assertThat(messageResolver.getHits()).isEqualTo(3);
+    assertThat(messageResolver.getMisses()).isEqualTo(3);
+
+    messageResolver.invalidate();
+    messageResolver.resolve("submit.label", Locale.ENGLISH);
+
+    assertThat(messageResolver.getMisses()).isEqualTo(4);
+  }
+
+  @Test
+  public void givenMaxLocales_whenResolveOtherLocales_thenLeastRecentlyUsedEvicted() {
+    messageResolver = new MessageResolver(new StaticMessageSource(), 2);
+
+    messageResolver.resolve("submit.label", Locale.ENGLISH);
+    messageResolver.resolve("submit.label", Locale.FRENCH);
+    messageResolver.resolve("submit.label", Locale.ENGLISH);
+    messageResolver.resolve("submit.label", Locale.GERMAN);
+
+    assertThat(messageResolver.getMisses()).isEqualTo(3);
+
+    //the french index was evicted, the english one kept
+    messageResolver.resolve("submit.label", Locale.ENGLISH);
+    messageResolver.resolve("submit.label", Locale.FRENCH);
+
+    assertThat(messageResolver.getHits()).isEqualTo(2);
+    assertThat(messageResolver.getMisses()).isEqualTo(4);
+  }
+
+}
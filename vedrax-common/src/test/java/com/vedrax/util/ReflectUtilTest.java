@@ -0,0 +1,37 @@
+package com.vedrax.util;
+
+import com.vedrax.descriptor.UserRole;
+import com.vedrax.descriptor.UserVO;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReflectUtilTest {
+
+  private static final String CONSTANT = "constant";
+
+  private int count = 3;
+
+  @Test
+  public void givenDeclaredField_whenGetField_thenGetValue() {
+    UserVO userVO = new UserVO();
+    userVO.setEmail("finance@vedrax.com");
+    userVO.setUserRole(UserRole.USER);
+
+    assertThat(ReflectUtil.getField(userVO, "email")).contains("finance@vedrax.com");
+    assertThat(ReflectUtil.getField(userVO, "userRole")).contains(UserRole.USER);
+    assertThat(ReflectUtil.getField(this, "count")).contains(3);
+    assertThat(ReflectUtil.getField(this, "CONSTANT")).contains("constant");
+  }
+
+  @Test
+  public void givenMissingFieldOrValue_whenGetField_thenEmpty() {
+    UserVO userVO = new UserVO();
+
+    assertThat(ReflectUtil.getField(userVO, "fullName")).isEmpty();
+    assertThat(ReflectUtil.getField(userVO, "unknown")).isEmpty();
+    assertThat(ReflectUtil.getField(userVO, "unknown")).isEmpty();
+    assertThat(ReflectUtil.getField(null, "email")).isEmpty();
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the entries changed in a matrix since the last {@link #clear()} and notifies the listeners.
+ * <p>
+ * The changed rows are only recorded while tracking is enabled or a listener is registered, so that
+ * a matrix nobody observes does not keep a copy of its row keys.
+ */
+public class ChangeTracker {
+
+  private final List<MatrixListener> listeners = new CopyOnWriteArrayList<>();
+  private final Map<String, Set<String>> dirtyRows = new LinkedHashMap<>();
+  private boolean tracking;
+
+  /**
+   * Record a change and notify the listeners
+   *
+   * @param column   the column key
+   * @param row      the row key
+   * @param oldValue the previous value
+   * @param newValue the new value
+   */
+  public void record(String column, String row, String oldValue, String newValue) {
+    if (!tracking && listeners.isEmpty()) {
+      return;
+    }
+
+    dirtyRows.computeIfAbsent(column, k -> new LinkedHashSet<>()).add(row);
+
+    for (MatrixListener listener : listeners) {
+      listener.entryChanged(column, row, oldValue, newValue);
+    }
+  }
+
+  /**
+   * Record a bulk loaded change and notify the listeners, the row being marked dirty only when tracking is enabled
+   *
+   * @param column   the column key
+   * @param row      the row key
+   * @param oldValue the previous value
+   * @param newValue the new value
+   */
+  public void recordLoaded(String column, String row, String oldValue, String newValue) {
+    if (tracking) {
+      dirtyRows.computeIfAbsent(column, k -> new LinkedHashSet<>()).add(row);
+    }
+
+    for (MatrixListener listener : listeners) {
+      listener.entryChanged(column, row, oldValue, newValue);
+    }
+  }
+
+  public void addListener(MatrixListener listener) {
+    Validate.notNull(listener, "listener must be provided");
+
+    listeners.add(listener);
+  }
+
+  public void removeListener(MatrixListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Enable or disable the recording of the changed rows without listener, the recorded rows being
+   * cleared when disabled
+   *
+   * @param tracking true to record the changed rows
+   */
+  public void setTracking(boolean tracking) {
+    this.tracking = tracking;
+    if (!tracking) {
+      clear();
+    }
+  }
+
+  public boolean isTracking() {
+    return tracking;
+  }
+
+  public boolean hasListeners() {
+    return !listeners.isEmpty();
+  }
+
+  public Set<String> getDirtyColumns() {
+    return Collections.unmodifiableSet(dirtyRows.keySet());
+  }
+
+  public Set<String> getDirtyRows(String column) {
+    return Collections.unmodifiableSet(dirtyRows.getOrDefault(column, Collections.emptySet()));
+  }
+
+  public void clear() {
+    dirtyRows.clear();
+  }
+}
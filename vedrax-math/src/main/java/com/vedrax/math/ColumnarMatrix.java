@@ -0,0 +1,329 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Matrix storing each column as a primitive {@code double[]} indexed by interned row keys.
+ * <p>
+ * Missing cells are tracked with a validity bitmap. The string based {@link IMatrix} methods are
+ * adapters over the primitive storage, so values are returned in their normalized form
+ * (e.g. "2.50" is returned as "2.5"). Unlike {@link DimMatrix}, every row added through
+ * {@link #addEntry(String, String, String)} becomes part of the row keys.
+ */
+public class ColumnarMatrix implements ObservableMatrix {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Map<String, Integer> rowIndex = new LinkedHashMap<>();
+  private final List<String> rowNames = new ArrayList<>();
+  private final Map<String, Column> columns = new LinkedHashMap<>();
+  private final Map<String, String> params = new HashMap<>();
+  private final ChangeTracker tracker = new ChangeTracker();
+
+  public ColumnarMatrix() {
+  }
+
+  public ColumnarMatrix(List<Matrix> data, List<NVP> params) {
+    Objects.requireNonNull(data, "data must be provided");
+    Objects.requireNonNull(params, "params must be provided");
+
+    data.forEach(matrix -> matrix.getEntries()
+      .forEach(entry -> put(matrix.getKey(), entry.getKey(), toDouble(entry.getValue()))));
+    params.forEach(param -> {
+      toDouble(param.getValue());
+      this.params.put(param.getKey(), param.getValue());
+    });
+  }
+
+  /**
+   * Storage of one column
+   */
+  static class Column {
+
+    private double[] values;
+    private final BitSet present = new BitSet();
+
+    Column(int capacity) {
+      values = new double[Math.max(capacity, INITIAL_CAPACITY)];
+    }
+
+    void set(int row, double value) {
+      if (row >= values.length) {
+        values = Arrays.copyOf(values, Math.max(values.length * 2, row + 1));
+      }
+      values[row] = value;
+      present.set(row);
+    }
+
+    boolean has(int row) {
+      return present.get(row);
+    }
+
+    double get(int row) {
+      return values[row];
+    }
+
+    BitSet getPresent() {
+      return present;
+    }
+
+    int count() {
+      return present.cardinality();
+    }
+  }
+
+  /**
+   * Get a cell as a primitive value
+   *
+   * @param column the column key
+   * @param row    the row key
+   * @return the value or NaN when the cell is missing
+   */
+  public double getValue(String column, String row) {
+    Column values = requireColumn(column);
+    Integer index = rowIndex.get(row);
+    return index != null && values.has(index) ? values.get(index) : Double.NaN;
+  }
+
+  /**
+   * Check if a cell has a value
+   *
+   * @param column the column key
+   * @param row    the row key
+   * @return true when the cell is set
+   */
+  public boolean hasValue(String column, String row) {
+    Column values = columns.get(column);
+    Integer index = rowIndex.get(row);
+    return values != null && index != null && values.has(index);
+  }
+
+  /**
+   * Set a cell from a primitive value, without any string conversion
+   *
+   * @param column the column key
+   * @param row    the row key
+   * @param value  the value
+   */
+  public void setValue(String column, String row, double value) {
+    Validate.notNull(column, "column must be provided");
+    Validate.notNull(row, "row must be provided");
+
+    //the string values are only needed by the listeners
+    boolean notify = tracker.hasListeners();
+    String oldValue = notify ? getEntryOrNull(column, row) : null;
+
+    put(column, row, value);
+
+    tracker.record(column, row, oldValue, notify ? format(value) : null);
+  }
+
+  /**
+   * Get the values of a column in row order, missing cells being skipped
+   *
+   * @param column the column key
+   * @return the values
+   */
+  @Override
+  public double[] getColumnArray(String column) {
+    Column values = requireColumn(column);
+
+    double[] result = new double[values.count()];
+    BitSet present = values.getPresent();
+    int i = 0;
+    for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+      result[i++] = values.get(row);
+    }
+    return result;
+  }
+
+  @Override
+  public String getEntry(final String column, final String row) {
+    requireColumn(column);
+    return getEntryOrNull(column, row);
+  }
+
+  @Override
+  public void addEntry(final String column, final String row, final String value) {
+    Validate.notNull(column, "column must be provided");
+    Validate.notNull(row, "row must be provided");
+    Validate.notNull(value, "value must be provided");
+    Validate.isTrue(NumberUtils.isCreatable(value), "The value %s, for the column %s and row %s is not correct", value, column, row);
+
+    setValue(column, row, parse(value));
+  }
+
+  @Override
+  public Map<String, String> getColumn(String code) {
+    Column values = requireColumn(code);
+
+    Map<String, String> result = new LinkedHashMap<>();
+    BitSet present = values.getPresent();
+    for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+      result.put(rowNames.get(row), format(values.get(row)));
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  @Override
+  public List<String> getColumnValues(String column) {
+    return new ArrayList<>(getColumn(column).values());
+  }
+
+  @Override
+  public Set<String> getColumnKeys() {
+    return Collections.unmodifiableSet(columns.keySet());
+  }
+
+  @Override
+  public Set<String> getRowKeys() {
+    return Collections.unmodifiableSet(rowIndex.keySet());
+  }
+
+  @Override
+  public Map<String, String> getParams() {
+    return params;
+  }
+
+  @Override
+  public void addParam(String key, String value) {
+    params.put(key, value);
+  }
+
+  @Override
+  public String getParam(String key) {
+    Validate.notNull(key, "key must be provided");
+
+    String value = params.get(key);
+
+    Validate.notNull(value, String.format("The param with key %s does not exist.", key));
+
+    return value;
+  }
+
+  @Override
+  public void addListener(MatrixListener listener) {
+    tracker.addListener(listener);
+  }
+
+  @Override
+  public void removeListener(MatrixListener listener) {
+    tracker.removeListener(listener);
+  }
+
+  @Override
+  public void setTracking(boolean tracking) {
+    tracker.setTracking(tracking);
+  }
+
+  @Override
+  public boolean isTracking() {
+    return tracker.isTracking();
+  }
+
+  @Override
+  public Set<String> getDirtyColumns() {
+    return tracker.getDirtyColumns();
+  }
+
+  @Override
+  public Set<String> getDirtyRows(String column) {
+    return tracker.getDirtyRows(column);
+  }
+
+  @Override
+  public void clearDirty() {
+    tracker.clear();
+  }
+
+  int getRowCount() {
+    return rowNames.size();
+  }
+
+  String getRowKey(int index) {
+    return rowNames.get(index);
+  }
+
+  Column getStorage(String column) {
+    return columns.get(column);
+  }
+
+  /**
+   * Store a loaded value, the row being marked dirty only when tracking is enabled
+   */
+  void load(String column, String row, double value) {
+    boolean notify = tracker.hasListeners();
+    String oldValue = notify ? getEntryOrNull(column, row) : null;
+
+    put(column, row, value);
+
+    tracker.recordLoaded(column, row, oldValue, notify ? format(value) : null);
+  }
+
+  /**
+   * Store a value without change tracking
+   */
+  void put(String column, String row, double value) {
+    int index = internRow(row);
+    columns.computeIfAbsent(column, k -> new Column(rowNames.size())).set(index, value);
+  }
+
+  private String getEntryOrNull(String column, String row) {
+    Column values = columns.get(column);
+    Integer index = rowIndex.get(row);
+    return values != null && index != null && values.has(index) ? format(values.get(index)) : null;
+  }
+
+  private int internRow(String row) {
+    Integer index = rowIndex.get(row);
+    if (index == null) {
+      index = rowNames.size();
+      rowIndex.put(row, index);
+      rowNames.add(row);
+    }
+    return index;
+  }
+
+  private Column requireColumn(String code) {
+    Validate.notNull(code, "code must be provided");
+
+    Column values = columns.get(code);
+
+    if (values == null) {
+      throw new IllegalArgumentException("No data for the specified key: " + code);
+    }
+
+    return values;
+  }
+
+  private static double toDouble(String value) {
+    if (!NumberUtils.isCreatable(value)) {
+      throw new IllegalArgumentException(String.format("The value %s is not a valid number", value));
+    }
+    return parse(value);
+  }
+
+  static double parse(String value) {
+    return NumberScanner.toDouble(value);
+  }
+
+  /**
+   * Format a value in its shortest plain representation
+   *
+   * @param value the value
+   * @return the string representation
+   */
+  static String format(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return String.valueOf(value);
+    }
+    if (value == 0) {
+      return "0";
+    }
+    return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+  }
+}
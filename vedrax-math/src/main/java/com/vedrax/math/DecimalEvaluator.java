@@ -0,0 +1,183 @@
+package com.vedrax.math;
+
+import com.vedrax.math.expression.Expression;
+import com.vedrax.math.expression.MapScope;
+import com.vedrax.math.expression.Scope;
+import org.apache.commons.lang3.Validate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluator computing with {@link BigDecimal}, for calculations which must not lose precision.
+ * <p>
+ * The operations are rounded with the configured {@link MathContext} and the results are set to the configured
+ * scale with the rounding mode of the context. The values of the scope are parsed as decimals, never as doubles.
+ * The functions without a decimal implementation, such as the logarithms, are computed with double precision.
+ * Instances are immutable and thread-safe; {@link #of(int, int, RoundingMode)} shares them by configuration.
+ */
+public class DecimalEvaluator implements Evaluator {
+
+  public static final int DEFAULT_SCALE = 5;
+
+  private static final Map<String, DecimalEvaluator> INSTANCES = new ConcurrentHashMap<>();
+
+  private static final NativeEvaluator PARSER = new NativeEvaluator();
+
+  private final MathContext context;
+  private final int scale;
+
+  /**
+   * Evaluator with the IEEE 754R Decimal64 context and 5 decimals
+   */
+  public DecimalEvaluator() {
+    this(MathContext.DECIMAL64, DEFAULT_SCALE);
+  }
+
+  /**
+   * @param context the precision and rounding of the operations
+   * @param scale   the number of decimals of the results
+   */
+  public DecimalEvaluator(MathContext context, int scale) {
+    Validate.notNull(context, "context must be provided");
+    Validate.isTrue(scale >= 0, "scale must be positive");
+
+    this.context = context;
+    this.scale = scale;
+  }
+
+  /**
+   * Get the shared evaluator of a configuration
+   *
+   * @param precision    the number of significant digits of the operations, 0 for unlimited
+   * @param scale        the number of decimals of the results
+   * @param roundingMode the rounding mode
+   * @return the evaluator
+   */
+  public static DecimalEvaluator of(int precision, int scale, RoundingMode roundingMode) {
+    Validate.notNull(roundingMode, "roundingMode must be provided");
+
+    return INSTANCES.computeIfAbsent(precision + ":" + scale + ":" + roundingMode,
+      key -> new DecimalEvaluator(new MathContext(precision, roundingMode), scale));
+  }
+
+  /**
+   * Evaluate an expression
+   *
+   * @param expr   the math expression
+   * @param inputs the scope of the expression
+   * @return the result at the configured scale
+   */
+  public BigDecimal evalDecimal(String expr, Map<String, String> inputs) {
+    return evalDecimal(expr, new MapScope(inputs));
+  }
+
+  /**
+   * Evaluate an expression
+   *
+   * @param expr  the math expression
+   * @param scope the variables
+   * @return the result at the configured scale
+   */
+  public BigDecimal evalDecimal(String expr, Scope scope) {
+    Expression expression = PARSER.compile(expr);
+
+    try {
+      return expression.evaluateDecimal(scope, context).setScale(scale, context.getRoundingMode());
+    } catch (ArithmeticException ex) {
+      throw new IllegalArgumentException("Expression [" + expr + "] not valid: " + ex.getMessage());
+    }
+  }
+
+  @Override
+  public String eval(String expr, Map<String, String> inputs) {
+    return evalDecimal(expr, inputs).toPlainString();
+  }
+
+  @Override
+  public double evalNumber(String expr, Map<String, String> inputs) {
+    return evalDecimal(expr, inputs).doubleValue();
+  }
+
+  @Override
+  public Map<String, String> evalOverRows(String expr, IMatrix matrix) {
+    Validate.notNull(matrix, "matrix must be provided");
+
+    Expression expression = PARSER.compile(expr);
+
+    Map<String, Map<String, String>> columns = new HashMap<>();
+    for (String symbol : expression.getSymbols()) {
+      if (matrix.getColumnKeys().contains(symbol)) {
+        columns.put(symbol, matrix.getColumn(symbol));
+      }
+    }
+
+    RowScope scope = new RowScope(columns, new MapScope(matrix.getParams()));
+    Map<String, String> results = new LinkedHashMap<>();
+    for (String row : matrix.getRowKeys()) {
+      if (columns.values().stream().allMatch(column -> column.get(row) != null)) {
+        scope.row = row;
+        results.put(row, evalDecimal(expr, scope).toPlainString());
+      }
+    }
+    return results;
+  }
+
+  public MathContext getContext() {
+    return context;
+  }
+
+  public int getScale() {
+    return scale;
+  }
+
+  /**
+   * Scope reading the referenced columns at the current row, as decimals
+   */
+  private static class RowScope implements Scope {
+
+    private final Map<String, Map<String, String>> columns;
+    private final Scope params;
+    private String row;
+
+    RowScope(Map<String, Map<String, String>> columns, Scope params) {
+      this.columns = columns;
+      this.params = params;
+    }
+
+    @Override
+    public boolean contains(String name) {
+      return columns.containsKey(name) || params.contains(name);
+    }
+
+    @Override
+    public double get(String name) {
+      return columns.containsKey(name) ? getDecimal(name).doubleValue() : params.get(name);
+    }
+
+    @Override
+    public double[] getValues(String name) {
+      return columns.containsKey(name) ? new double[]{get(name)} : params.getValues(name);
+    }
+
+    @Override
+    public BigDecimal getDecimal(String name) {
+      Map<String, String> column = columns.get(name);
+      if (column == null) {
+        return params.getDecimal(name);
+      }
+
+      String value = column.get(row);
+      //hexadecimal or type qualified numbers accepted by the matrices
+      return NumberScanner.isDecimal(value) ? new BigDecimal(value) : BigDecimal.valueOf(ColumnarMatrix.parse(value));
+    }
+
+    @Override
+    public BigDecimal[] getDecimalValues(String name) {
+      return columns.containsKey(name) ? new BigDecimal[]{getDecimal(name)} : params.getDecimalValues(name);
+    }
+  }
+}
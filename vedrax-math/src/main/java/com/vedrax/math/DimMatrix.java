@@ -1,20 +1,23 @@
 package com.vedrax.math;
 
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.lang3.math.NumberUtils;
 
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
-public class DimMatrix implements IMatrix {
+public class DimMatrix implements ObservableMatrix {
 
     private static final Logger LOG = Logger.getLogger(DimMatrix.class.getName());
 
     private Map<String, Map<String, String>> data = new HashMap<>();
     private Map<String, String> params = new HashMap<>();
     private Set<String> rowKeys = new HashSet<>();
+    private final ChangeTracker tracker = new ChangeTracker();
+
+    public DimMatrix() {
+    }
 
     public DimMatrix(List<Matrix> data, List<NVP> params) {
         Objects.requireNonNull(data, "data must be provided");
@@ -52,7 +55,7 @@ public class DimMatrix implements IMatrix {
     }
 
     private void checkEntry(String value) {
-        boolean isNumber = NumberUtils.isCreatable(value);
+        boolean isNumber = NumberScanner.isNumber(value);
 
         if (!isNumber) {
             throw new IllegalArgumentException(String.format("The value %s is not a valid number", value));
@@ -77,19 +80,32 @@ public class DimMatrix implements IMatrix {
         Validate.notNull(row, "row must be provided");
         Validate.notNull(value, "value must be provided");
 
-        LOG.log(Level.WARNING, String.format("COLUMN: %s | ROW: %s | VALUE: %s", column, row, value));
+        LOG.log(Level.FINE, () -> String.format("COLUMN: %s | ROW: %s | VALUE: %s", column, row, value));
 
         checkIfNumber(column, row, value);
 
 
         Map<String, String> values = data.computeIfAbsent(column, k -> new HashMap<>());
 
-        values.put(row, value);
+        String oldValue = values.put(row, value);
+
+        tracker.record(column, row, oldValue, value);
     }
 
     private void checkIfNumber(String column, String row, String value) {
         //METROLAB_FIX_1 : Fix return message error parsing
-        Validate.isTrue(NumberUtils.isCreatable(value), String.format("The value %s, for the column %s and row %s is not correct", value, column, row));
+        Validate.isTrue(NumberScanner.isNumber(value), "The value %s, for the column %s and row %s is not correct", value, column, row);
+    }
+
+    /**
+     * Store an already validated entry, without logging. The row becomes part of the row keys.
+     * The row is marked dirty only when tracking is enabled.
+     */
+    void put(String column, String row, String value) {
+        String oldValue = data.computeIfAbsent(column, k -> new HashMap<>()).put(row, value);
+        rowKeys.add(row);
+
+        tracker.recordLoaded(column, row, oldValue, value);
     }
 
     @Override
@@ -110,6 +126,11 @@ public class DimMatrix implements IMatrix {
         return new ArrayList<>(getColumn(column).values());
     }
 
+    @Override
+    public Set<String> getColumnKeys() {
+        return data.keySet();
+    }
+
     @Override
     public Set<String> getRowKeys() {
         return rowKeys;
@@ -136,4 +157,39 @@ public class DimMatrix implements IMatrix {
         return value;
     }
 
+    @Override
+    public void addListener(MatrixListener listener) {
+        tracker.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(MatrixListener listener) {
+        tracker.removeListener(listener);
+    }
+
+    @Override
+    public void setTracking(boolean tracking) {
+        tracker.setTracking(tracking);
+    }
+
+    @Override
+    public boolean isTracking() {
+        return tracker.isTracking();
+    }
+
+    @Override
+    public Set<String> getDirtyColumns() {
+        return tracker.getDirtyColumns();
+    }
+
+    @Override
+    public Set<String> getDirtyRows(String column) {
+        return tracker.getDirtyRows(column);
+    }
+
+    @Override
+    public void clearDirty() {
+        tracker.clear();
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A matrix and the formulas computing some of its columns, evaluated by a {@link MatrixEvaluationService}
+ */
+public class EvaluationJob {
+
+  private final String id;
+  private final IMatrix matrix;
+  private final Map<String, String> formulas;
+
+  /**
+   * @param id       the job identifier, reported in the result
+   * @param matrix   the matrix to update
+   * @param formulas the formulas by computed column
+   */
+  public EvaluationJob(String id, IMatrix matrix, Map<String, String> formulas) {
+    Validate.notNull(id, "id must be provided");
+    Validate.notNull(matrix, "matrix must be provided");
+    Validate.notNull(formulas, "formulas must be provided");
+
+    this.id = id;
+    this.matrix = matrix;
+    this.formulas = Collections.unmodifiableMap(new LinkedHashMap<>(formulas));
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public IMatrix getMatrix() {
+    return matrix;
+  }
+
+  public Map<String, String> getFormulas() {
+    return formulas;
+  }
+}
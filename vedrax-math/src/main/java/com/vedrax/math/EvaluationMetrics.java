@@ -0,0 +1,112 @@
+package com.vedrax.math;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and queue metrics of a {@link MatrixEvaluationService}
+ */
+public class EvaluationMetrics {
+
+  private final LongAdder submittedCount = new LongAdder();
+  private final LongAdder completedCount = new LongAdder();
+  private final LongAdder failedCount = new LongAdder();
+  private final LongAdder totalEvalNanos = new LongAdder();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicLong firstSubmitNanos = new AtomicLong();
+
+  void recordSubmit() {
+    firstSubmitNanos.compareAndSet(0, System.nanoTime());
+    submittedCount.increment();
+    queued.incrementAndGet();
+  }
+
+  void recordRejected() {
+    submittedCount.decrement();
+    queued.decrementAndGet();
+  }
+
+  void recordStart() {
+    queued.decrementAndGet();
+    active.incrementAndGet();
+  }
+
+  void recordEnd(long evalNanos, boolean failed) {
+    active.decrementAndGet();
+    totalEvalNanos.add(evalNanos);
+    completedCount.increment();
+    if (failed) {
+      failedCount.increment();
+    }
+  }
+
+  public long getSubmittedCount() {
+    return submittedCount.sum();
+  }
+
+  /**
+   * Get the number of jobs done, failed ones included
+   *
+   * @return the completed count
+   */
+  public long getCompletedCount() {
+    return completedCount.sum();
+  }
+
+  public long getFailedCount() {
+    return failedCount.sum();
+  }
+
+  /**
+   * Get the number of jobs waiting for a worker
+   *
+   * @return the queue depth
+   */
+  public int getQueueDepth() {
+    return queued.get();
+  }
+
+  /**
+   * Get the number of jobs being evaluated
+   *
+   * @return the active count
+   */
+  public int getActiveCount() {
+    return active.get();
+  }
+
+  /**
+   * Get the average evaluation time per job, queueing excluded
+   *
+   * @param unit the time unit
+   * @return the average evaluation time
+   */
+  public long getAverageTime(TimeUnit unit) {
+    long count = getCompletedCount();
+    return count == 0 ? 0 : unit.convert(totalEvalNanos.sum() / count, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the number of jobs completed per second since the first submission
+   *
+   * @return the throughput
+   */
+  public double getThroughput() {
+    long start = firstSubmitNanos.get();
+    if (start == 0) {
+      return 0;
+    }
+    double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+    return seconds > 0 ? getCompletedCount() / seconds : 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("submitted=%d, completed=%d, failed=%d, queued=%d, active=%d, avgTime=%dus, throughput=%.1f/s",
+      getSubmittedCount(), getCompletedCount(), getFailedCount(), getQueueDepth(), getActiveCount(),
+      getAverageTime(TimeUnit.MICROSECONDS), getThroughput());
+  }
+}
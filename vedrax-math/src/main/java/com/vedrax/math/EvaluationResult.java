@@ -0,0 +1,64 @@
+package com.vedrax.math;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of an {@link EvaluationJob}. A failed job carries its error instead of failing the batch.
+ */
+public class EvaluationResult {
+
+  private final EvaluationJob job;
+  private final RuntimeException error;
+  private final long elapsedNanos;
+
+  EvaluationResult(EvaluationJob job, RuntimeException error, long elapsedNanos) {
+    this.job = job;
+    this.error = error;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public EvaluationJob getJob() {
+    return job;
+  }
+
+  public String getId() {
+    return job.getId();
+  }
+
+  /**
+   * Get the matrix updated with the computed columns
+   *
+   * @return the matrix
+   */
+  public IMatrix getMatrix() {
+    return job.getMatrix();
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  /**
+   * Get the error of a failed job
+   *
+   * @return the error, null on success
+   */
+  public RuntimeException getError() {
+    return error;
+  }
+
+  /**
+   * Get the evaluation time, queueing excluded
+   *
+   * @param unit the time unit
+   * @return the evaluation time
+   */
+  public long getElapsed(TimeUnit unit) {
+    return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("EvaluationResult{id=%s, success=%s, elapsed=%dus}", getId(), isSuccess(), getElapsed(TimeUnit.MICROSECONDS));
+  }
+}
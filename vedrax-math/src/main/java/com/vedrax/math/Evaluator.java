@@ -0,0 +1,41 @@
+package com.vedrax.math;
+
+import java.util.Map;
+
+/**
+ * Math expression evaluator
+ */
+public interface Evaluator {
+
+  /**
+   * Method for evaluating an math expression, the result is rounded to 5 decimals
+   *
+   * @param expr   the math expression to be evaluated
+   * @param inputs the scope of the expression
+   * @return the result of the expression
+   */
+  String eval(String expr, Map<String, String> inputs);
+
+  /**
+   * Method for evaluating an math expression for every row of a matrix.
+   * The columns referenced by the expression are bound by row, the other symbols are read from the params.
+   *
+   * @param expr   the math expression to be evaluated
+   * @param matrix the matrix
+   * @return the result column keyed by row, rows missing a referenced value are left out
+   */
+  Map<String, String> evalOverRows(String expr, IMatrix matrix);
+
+  /**
+   * Method for evaluating an math expression as a number, the result is rounded to 5 decimals.
+   * The default implementation parses the result of {@link #eval(String, Map)}.
+   *
+   * @param expr   the math expression to be evaluated
+   * @param inputs the scope of the expression
+   * @return the result of the expression
+   */
+  default double evalNumber(String expr, Map<String, String> inputs) {
+    return Double.parseDouble(eval(expr, inputs));
+  }
+
+}
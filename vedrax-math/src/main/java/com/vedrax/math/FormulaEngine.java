@@ -0,0 +1,320 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Engine computing matrix columns from formulas which may depend on each other.
+ * <p>
+ * The dependencies are inferred from the identifiers of each formula, so that column C = f(A, B)
+ * is computed before D = g(C). The formulas of a same level of the dependency graph are independent
+ * and evaluated in parallel on a {@link ForkJoinPool}, unless the evaluator is a single
+ * {@link MathJS} engine which is not thread-safe.
+ * <p>
+ * When a few entries change, {@link #recompute(IMatrix, String, Collection)} and
+ * {@link #recomputeDirty(ObservableMatrix)} only evaluate the downstream formulas for the changed rows.
+ */
+public class FormulaEngine {
+
+  private static final Pattern IDENTIFIER = Pattern.compile("(?<![\\w.$])([A-Za-z_$][\\w$]*)\\s*(\\()?");
+
+  private final Evaluator evaluator;
+  private final ForkJoinPool pool;
+  private final boolean parallel;
+
+  private final Map<String, String> formulas = new LinkedHashMap<>();
+  private final Map<String, Set<String>> symbols = new HashMap<>();
+  private List<List<String>> schedule;
+
+  public FormulaEngine(Evaluator evaluator) {
+    this(evaluator, ForkJoinPool.commonPool());
+  }
+
+  public FormulaEngine(Evaluator evaluator, ForkJoinPool pool) {
+    this(evaluator, pool, !(evaluator instanceof MathJS) && pool != null && pool.getParallelism() > 1);
+  }
+
+  private FormulaEngine(Evaluator evaluator, ForkJoinPool pool, boolean parallel) {
+    Validate.notNull(evaluator, "evaluator must be provided");
+    Validate.notNull(pool, "pool must be provided");
+
+    this.evaluator = evaluator;
+    this.pool = pool;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Create an engine evaluating every formula on the calling thread
+   *
+   * @param evaluator the evaluator
+   * @return the engine
+   */
+  public static FormulaEngine sequential(Evaluator evaluator) {
+    return new FormulaEngine(evaluator, ForkJoinPool.commonPool(), false);
+  }
+
+  /**
+   * Declare the formula of a column, replacing the previous one if any
+   *
+   * @param column     the computed column key
+   * @param expression the formula
+   * @return the engine
+   */
+  public FormulaEngine define(String column, String expression) {
+    Validate.notNull(column, "column must be provided");
+    Validate.notNull(expression, "expression must be provided");
+
+    formulas.put(column, expression);
+    symbols.put(column, extractSymbols(expression));
+    schedule = null;
+    return this;
+  }
+
+  /**
+   * Get the formulas by computed column
+   *
+   * @return the formulas
+   */
+  public Map<String, String> getFormulas() {
+    return Collections.unmodifiableMap(formulas);
+  }
+
+  /**
+   * Get the computed columns referenced by the formula of a column
+   *
+   * @param column the computed column key
+   * @return the computed columns it depends on
+   */
+  public Set<String> getDependencies(String column) {
+    Set<String> referenced = symbols.getOrDefault(column, Collections.emptySet());
+    return referenced.stream().filter(formulas::containsKey).collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  /**
+   * Get the computed columns which depend, directly or not, on a column
+   *
+   * @param column the column key, computed or not
+   * @return the downstream computed columns
+   */
+  public Set<String> getDownstream(String column) {
+    Set<String> downstream = new HashSet<>();
+    Deque<String> queue = new ArrayDeque<>(Collections.singleton(column));
+    while (!queue.isEmpty()) {
+      String current = queue.poll();
+      for (String candidate : formulas.keySet()) {
+        if (symbols.get(candidate).contains(current) && downstream.add(candidate)) {
+          queue.add(candidate);
+        }
+      }
+    }
+    return downstream;
+  }
+
+  /**
+   * Get the evaluation schedule, each level only depending on the previous ones
+   *
+   * @return the computed columns by level
+   */
+  public List<List<String>> getSchedule() {
+    if (schedule == null) {
+      schedule = buildSchedule();
+    }
+    return schedule;
+  }
+
+  /**
+   * Compute every formula
+   *
+   * @param matrix the matrix to update
+   */
+  public void evaluate(IMatrix matrix) {
+    Validate.notNull(matrix, "matrix must be provided");
+
+    evaluate(matrix, formulas.keySet());
+  }
+
+  /**
+   * Compute the formulas depending on a column which has changed
+   *
+   * @param matrix the matrix to update
+   * @param column the changed column key
+   */
+  public void recompute(IMatrix matrix, String column) {
+    Validate.notNull(matrix, "matrix must be provided");
+    Validate.notNull(column, "column must be provided");
+
+    evaluate(matrix, getDownstream(column));
+  }
+
+  /**
+   * Compute the formulas depending on a column, only for the rows which have changed
+   *
+   * @param matrix the matrix to update
+   * @param column the changed column key
+   * @param rows   the changed row keys
+   */
+  public void recompute(IMatrix matrix, String column, Collection<String> rows) {
+    Validate.notNull(matrix, "matrix must be provided");
+    Validate.notNull(column, "column must be provided");
+    Validate.notNull(rows, "rows must be provided");
+
+    Map<String, Set<String>> changed = new HashMap<>();
+    getDownstream(column).forEach(downstream -> changed.put(downstream, new LinkedHashSet<>(rows)));
+
+    evaluateRows(matrix, changed);
+  }
+
+  /**
+   * Compute the formulas depending on the entries changed since the last call to {@link ObservableMatrix#clearDirty()},
+   * only for the changed rows. The dirty state of the matrix, including the computed entries, is cleared.
+   * The matrix must have {@link ObservableMatrix#setTracking(boolean) tracking} enabled.
+   *
+   * @param matrix the matrix to update
+   */
+  public void recomputeDirty(ObservableMatrix matrix) {
+    Validate.notNull(matrix, "matrix must be provided");
+
+    Map<String, Set<String>> changed = new HashMap<>();
+    for (String column : matrix.getDirtyColumns()) {
+      Set<String> rows = matrix.getDirtyRows(column);
+      getDownstream(column).forEach(downstream -> changed.computeIfAbsent(downstream, k -> new LinkedHashSet<>()).addAll(rows));
+    }
+
+    evaluateRows(matrix, changed);
+    matrix.clearDirty();
+  }
+
+  private void evaluate(IMatrix matrix, Set<String> columns) {
+    for (List<String> level : getSchedule()) {
+      List<String> selected = level.stream().filter(columns::contains).collect(Collectors.toList());
+
+      for (Map.Entry<String, Map<String, String>> result : evaluateLevel(matrix, selected).entrySet()) {
+        String column = result.getKey();
+        result.getValue().forEach((row, value) -> matrix.addEntry(column, row, value));
+      }
+    }
+  }
+
+  /**
+   * Evaluate the formulas row by row, the rows of each computed column being the ones changed upstream
+   */
+  private void evaluateRows(IMatrix matrix, Map<String, Set<String>> rowsByColumn) {
+    for (List<String> level : getSchedule()) {
+      for (String column : level) {
+        Set<String> rows = rowsByColumn.get(column);
+        if (rows == null) {
+          continue;
+        }
+
+        String expression = formulas.get(column);
+        for (String row : rows) {
+          Map<String, String> inputs = bindRow(matrix, column, row);
+          if (inputs != null) {
+            matrix.addEntry(column, row, evaluator.eval(expression, inputs));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the inputs of a formula at a row, null when a referenced column has no value for the row
+   */
+  private Map<String, String> bindRow(IMatrix matrix, String column, String row) {
+    Set<String> columnKeys = matrix.getColumnKeys();
+    Map<String, String> params = matrix.getParams();
+
+    Map<String, String> inputs = new HashMap<>();
+    for (String symbol : symbols.get(column)) {
+      if (columnKeys.contains(symbol)) {
+        String value = matrix.getEntry(symbol, row);
+        if (value == null) {
+          return null;
+        }
+        inputs.put(symbol, value);
+      } else if (params.containsKey(symbol)) {
+        inputs.put(symbol, params.get(symbol));
+      }
+    }
+    return inputs;
+  }
+
+  /**
+   * Evaluate independent formulas, the matrix being only read until all of them are done
+   */
+  private Map<String, Map<String, String>> evaluateLevel(IMatrix matrix, List<String> columns) {
+    Map<String, Map<String, String>> results = new LinkedHashMap<>();
+
+    if (!parallel || columns.size() < 2) {
+      columns.forEach(column -> results.put(column, evaluator.evalOverRows(formulas.get(column), matrix)));
+      return results;
+    }
+
+    Map<String, Future<Map<String, String>>> futures = new LinkedHashMap<>();
+    columns.forEach(column -> futures.put(column, pool.submit(() -> evaluator.evalOverRows(formulas.get(column), matrix))));
+
+    try {
+      for (Map.Entry<String, Future<Map<String, String>>> future : futures.entrySet()) {
+        results.put(future.getKey(), future.getValue().get());
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Formula evaluation interrupted", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new IllegalStateException("Formula evaluation failed", ex.getCause());
+    }
+
+    return results;
+  }
+
+  /**
+   * Topological sort by levels, failing on cyclic formulas
+   */
+  private List<List<String>> buildSchedule() {
+    Map<String, Set<String>> pending = new LinkedHashMap<>();
+    formulas.keySet().forEach(column -> pending.put(column, new HashSet<>(getDependencies(column))));
+
+    List<List<String>> levels = new ArrayList<>();
+    Set<String> done = new HashSet<>();
+    while (!pending.isEmpty()) {
+      List<String> level = pending.entrySet().stream()
+        .filter(entry -> done.containsAll(entry.getValue()))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+
+      if (level.isEmpty()) {
+        throw new IllegalStateException("Cyclic formulas detected between the columns " + pending.keySet());
+      }
+
+      level.forEach(pending::remove);
+      done.addAll(level);
+      levels.add(Collections.unmodifiableList(level));
+    }
+
+    return Collections.unmodifiableList(levels);
+  }
+
+  /**
+   * Get the identifiers of an expression, function names excluded
+   */
+  private static Set<String> extractSymbols(String expression) {
+    Set<String> names = new LinkedHashSet<>();
+    Matcher matcher = IDENTIFIER.matcher(expression);
+    while (matcher.find()) {
+      if (matcher.group(2) == null) {
+        names.add(matcher.group(1));
+      }
+    }
+    return names;
+  }
+}
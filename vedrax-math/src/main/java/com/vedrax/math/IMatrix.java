@@ -1,5 +1,6 @@
 package com.vedrax.math;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -41,6 +42,85 @@ public interface IMatrix {
    */
   List<String> getColumnValues(String column);
 
+  /**
+   * Get column values as primitive array, in the column iteration order
+   *
+   * @param column the column key
+   * @return the column values
+   */
+  default double[] getColumnArray(String column) {
+    Collection<String> values = getColumn(column).values();
+
+    double[] result = new double[values.size()];
+    int i = 0;
+    for (String value : values) {
+      result[i++] = ColumnarMatrix.parse(value);
+    }
+    return result;
+  }
+
+  default double sum(String column) {
+    return Statistics.sum(getColumnArray(column));
+  }
+
+  default double mean(String column) {
+    return Statistics.mean(getColumnArray(column));
+  }
+
+  default double min(String column) {
+    return Statistics.min(getColumnArray(column));
+  }
+
+  default double max(String column) {
+    return Statistics.max(getColumnArray(column));
+  }
+
+  /**
+   * Unbiased variance of a column
+   *
+   * @param column the column key
+   * @return the variance
+   */
+  default double variance(String column) {
+    return Statistics.variance(getColumnArray(column));
+  }
+
+  default double std(String column) {
+    return Statistics.std(getColumnArray(column));
+  }
+
+  default double median(String column) {
+    return Statistics.median(getColumnArray(column));
+  }
+
+  /**
+   * Median absolute deviation of a column
+   *
+   * @param column the column key
+   * @return the median absolute deviation
+   */
+  default double mad(String column) {
+    return Statistics.mad(getColumnArray(column));
+  }
+
+  /**
+   * Percentile of a column, interpolated between the closest ranks
+   *
+   * @param column      the column key
+   * @param probability the probability between 0 and 1
+   * @return the percentile
+   */
+  default double percentile(String column, double probability) {
+    return Statistics.percentile(getColumnArray(column), probability);
+  }
+
+  /**
+   * get column keys
+   *
+   * @return column keys
+   */
+  Set<String> getColumnKeys();
+
   /**
    * get row keys
    *
@@ -0,0 +1,29 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded map evicting the least recently used entry
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+class LRUCache<K, V> extends LinkedHashMap<K, V> {
+
+  private final int maxSize;
+
+  LRUCache(int maxSize) {
+    super(16, 0.75f, true);
+    Validate.isTrue(maxSize > 0, "max size must be greater than 0");
+
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+    return size() > maxSize;
+  }
+}
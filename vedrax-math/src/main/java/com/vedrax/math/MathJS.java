@@ -3,27 +3,49 @@ package com.vedrax.math;
 import org.apache.commons.lang3.Validate;
 import org.springframework.util.CollectionUtils;
 
+import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.vedrax.math.Util.*;
 
 /**
  * Math API implementation
  */
-public class MathJS {
+public class MathJS implements Evaluator {
 
   protected static String FILE_NAME = "math.min.js";
 
+  protected static String HELPERS_FILE_NAME = "math.helpers.js";
+
+  protected static int DEFAULT_CACHE_SIZE = 512;
+
   protected ScriptEngine engine;
 
+  private Object math;
+
+  private Object helpers;
+
+  private final Map<String, CompiledExpression> compiledExpressions;
+
   public MathJS() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * @param cacheSize the maximum number of compiled expressions kept by this instance
+   */
+  public MathJS(int cacheSize) {
+    compiledExpressions = new LRUCache<>(cacheSize);
+
     try {
       ScriptEngineManager manager = new ScriptEngineManager();
       engine = manager.getEngineByName("nashorn");
       engine.eval(readResourceToString(FILE_NAME));
+      engine.eval(readResourceToString(HELPERS_FILE_NAME));
+      math = engine.get("math");
+      helpers = engine.get("vedrax");
     } catch (Exception ex) {
       throw new IllegalArgumentException("math.min.js cannot be accessed");
     }
@@ -36,34 +58,171 @@ public class MathJS {
    * @param inputs the scope of the expression
    * @return the result of the expression
    */
+  @Override
   public String eval(String expr, Map<String, String> inputs) {
+    return evalResult(expr, inputs).toString();
+  }
+
+  /**
+   * Method for evaluating an math expression, the engine value being kept as is
+   *
+   * @param expr   the math expression to be evaluated
+   * @param inputs the scope of the expression
+   * @return the result of the expression
+   */
+  public MathResult evalResult(String expr, Map<String, String> inputs) {
     Validate.notNull(expr, "expression must be provided");
 
-    //evaluateScope(inputs);
-    return evaluate("math.evaluate('round(" + expr + ", 5)', " + initScope(inputs) + ");");
+    CompiledExpression compiled = compile(expr);
+    Object value = invoke(expr, compiled.compiled, "evaluate", bindScope(expr, inputs));
+    return new MathResult(invoke(expr, helpers, "toJava", value));
   }
 
-  private String initScope(Map<String, String> inputs) {
-    if (CollectionUtils.isEmpty(inputs)) {
-      return "{}";
-    }
-
-    return inputs.keySet().stream()
-      .map(key -> key + ":" + inputs.get(key))
-      .collect(Collectors.joining(", ", "{", "}"));
+  /**
+   * Method for evaluating an math expression returning a number
+   *
+   * @param expr   the math expression to be evaluated
+   * @param inputs the scope of the expression
+   * @return the result of the expression
+   */
+  @Override
+  public double evalNumber(String expr, Map<String, String> inputs) {
+    return evalResult(expr, inputs).getNumber();
   }
 
   /**
-   * Helper method for evaluate an expression
+   * Method for evaluating an math expression returning an array of numbers
    *
-   * @param expression the provided expression
+   * @param expr   the math expression to be evaluated
+   * @param inputs the scope of the expression
    * @return the result of the expression
    */
-  private String evaluate(String expression) {
+  public double[] evalArray(String expr, Map<String, String> inputs) {
+    return evalResult(expr, inputs).getArray();
+  }
+
+  /**
+   * Method for evaluating an math expression for every row of a matrix, in a single engine call.
+   * The columns referenced by the expression are bound by row, the other symbols are read from the params.
+   *
+   * @param expr   the math expression to be evaluated
+   * @param matrix the matrix
+   * @return the result column keyed by row, rows missing a referenced value are left out
+   */
+  @Override
+  public Map<String, String> evalOverRows(String expr, IMatrix matrix) {
+    Validate.notNull(expr, "expression must be provided");
+    Validate.notNull(matrix, "matrix must be provided");
+
+    CompiledExpression compiled = compile(expr);
+    RowBinding binding = RowBinding.of(Arrays.asList(compiled.getSymbols()), matrix);
+
+    Object results = invoke(expr, helpers, "evalRows", compiled.compiled, binding.getNames(), binding.getColumns(),
+      bindScope(expr, matrix.getParams()), binding.getRowCount());
+
+    return binding.toColumn((double[]) results);
+  }
+
+  /**
+   * Get the compiled form of the expression, compiling it on first use
+   *
+   * @param expr the math expression
+   * @return the mathjs compiled expression
+   */
+  private CompiledExpression compile(String expr) {
+    CompiledExpression compiled = compiledExpressions.get(expr);
+
+    if (compiled == null) {
+      compiled = new CompiledExpression(expr, invoke(expr, math, "compile", "round(" + expr + ", 5)"));
+      compiledExpressions.put(expr, compiled);
+    }
+
+    return compiled;
+  }
+
+  private Object invoke(String expr, Object target, String method, Object... args) {
     try {
-      return String.valueOf(engine.eval(expression));
+      return ((Invocable) engine).invokeMethod(target, method, args);
     } catch (Exception e) {
-      throw new IllegalArgumentException("Expression [" + expression + "] not valid");
+      throw new IllegalArgumentException("Expression [" + expr + "] not valid");
+    }
+  }
+
+  /**
+   * Build the scope as an engine object. Numbers and arrays of numbers are passed as Java values,
+   * only the other values are parsed by the engine as source text.
+   *
+   * @param expr   the expression, for error reporting
+   * @param inputs the scope values
+   * @return the scope object
+   */
+  private Object bindScope(String expr, Map<String, String> inputs) {
+    if (CollectionUtils.isEmpty(inputs)) {
+      return invoke(expr, helpers, "scope", new String[0], new Object[0]);
+    }
+
+    String[] names = new String[inputs.size()];
+    Object[] values = new Object[inputs.size()];
+    int i = 0;
+    for (Map.Entry<String, String> input : inputs.entrySet()) {
+      names[i] = input.getKey();
+      values[i] = toScopeValue(input.getValue());
+      i++;
+    }
+
+    return invoke(expr, helpers, "scope", names, values);
+  }
+
+  /**
+   * Convert a scope value to a Double, a double[] or, when neither applies, the source text
+   */
+  private static Object toScopeValue(String value) {
+    if (NumberScanner.isDecimal(value)) {
+      return Double.parseDouble(value);
+    }
+
+    String trimmed = value.trim();
+    if (!trimmed.startsWith("[") || !trimmed.endsWith("]")) {
+      return value;
+    }
+
+    String content = trimmed.substring(1, trimmed.length() - 1).trim();
+    if (content.isEmpty()) {
+      return new double[0];
+    }
+
+    String[] items = content.split(",");
+    double[] array = new double[items.length];
+    for (int i = 0; i < items.length; i++) {
+      String item = items[i].trim();
+      if (!NumberScanner.isDecimal(item)) {
+        //nested arrays or expressions are left to the engine
+        return value;
+      }
+      array[i] = Double.parseDouble(item);
+    }
+    return array;
+  }
+
+  /**
+   * Compiled expression with its symbols, resolved on demand
+   */
+  private class CompiledExpression {
+
+    private final String expr;
+    private final Object compiled;
+    private String[] symbols;
+
+    CompiledExpression(String expr, Object compiled) {
+      this.expr = expr;
+      this.compiled = compiled;
+    }
+
+    String[] getSymbols() {
+      if (symbols == null) {
+        symbols = (String[]) invoke(expr, helpers, "symbols", expr);
+      }
+      return symbols;
     }
   }
 
@@ -0,0 +1,213 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of pre-warmed {@link MathJS} engines.
+ * <p>
+ * A {@link MathJS} instance is not thread-safe, so each thread borrows an engine,
+ * evaluates its expressions and returns it. All engines are created eagerly when
+ * the pool is built so that no request pays the cost of loading math.min.js.
+ */
+public class MathJSPool implements Evaluator {
+
+  private static final Logger LOG = Logger.getLogger(MathJSPool.class.getName());
+
+  public static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors();
+
+  private final BlockingQueue<MathJS> engines;
+  private final Set<MathJS> borrowed = ConcurrentHashMap.newKeySet();
+  private final int size;
+  private final PoolMetrics metrics = new PoolMetrics();
+
+  public MathJSPool() {
+    this(DEFAULT_SIZE);
+  }
+
+  public MathJSPool(int size) {
+    this(size, MathJS::new);
+  }
+
+  MathJSPool(int size, Supplier<MathJS> factory) {
+    Validate.isTrue(size > 0, "size must be greater than 0");
+    Validate.notNull(factory, "factory must be provided");
+
+    this.size = size;
+    this.engines = new ArrayBlockingQueue<>(size);
+
+    warmUp(factory);
+  }
+
+  /**
+   * Create all the engines in parallel
+   *
+   * @param factory the engine factory
+   */
+  private void warmUp(Supplier<MathJS> factory) {
+    long start = System.nanoTime();
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(size, DEFAULT_SIZE));
+    try {
+      List<Future<MathJS>> futures = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        futures.add(executor.submit(factory::get));
+      }
+      for (Future<MathJS> future : futures) {
+        engines.add(future.get());
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("MathJS pool warm-up interrupted", ex);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("MathJS pool warm-up failed", ex.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    LOG.log(Level.INFO, String.format("MathJS pool of %d engines warmed up in %d ms", size,
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+  }
+
+  /**
+   * Borrow an engine, waiting until one is available
+   *
+   * @return the engine, to be given back with {@link #release(MathJS)}
+   */
+  public MathJS borrow() {
+    long start = System.nanoTime();
+    try {
+      MathJS engine = engines.take();
+      borrowed.add(engine);
+      metrics.recordBorrow(System.nanoTime() - start);
+      return engine;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a MathJS engine", ex);
+    }
+  }
+
+  /**
+   * Borrow an engine, waiting at most the provided timeout
+   *
+   * @param timeout the maximum time to wait
+   * @param unit    the time unit of the timeout
+   * @return the engine, to be given back with {@link #release(MathJS)}
+   */
+  public MathJS borrow(long timeout, TimeUnit unit) {
+    Validate.notNull(unit, "unit must be provided");
+
+    long start = System.nanoTime();
+    try {
+      MathJS engine = engines.poll(timeout, unit);
+      if (engine == null) {
+        metrics.recordTimeout();
+        throw new IllegalStateException(String.format("No MathJS engine available after %d %s", timeout, unit));
+      }
+      borrowed.add(engine);
+      metrics.recordBorrow(System.nanoTime() - start);
+      return engine;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a MathJS engine", ex);
+    }
+  }
+
+  /**
+   * Give back a borrowed engine, an engine of another pool or already given back being rejected
+   *
+   * @param engine the borrowed engine
+   */
+  public void release(MathJS engine) {
+    Validate.notNull(engine, "engine must be provided");
+    Validate.isTrue(borrowed.remove(engine), "The engine is not borrowed from this pool");
+    Validate.validState(engines.offer(engine), "The pool is already full");
+  }
+
+  /**
+   * Evaluate an expression with a pooled engine
+   *
+   * @param expr   the math expression to be evaluated
+   * @param inputs the scope of the expression
+   * @return the result of the expression
+   */
+  @Override
+  public String eval(String expr, Map<String, String> inputs) {
+    MathJS engine = borrow();
+    try {
+      return engine.eval(expr, inputs);
+    } finally {
+      release(engine);
+    }
+  }
+
+  /**
+   * Evaluate an expression as a number with a pooled engine
+   *
+   * @param expr   the math expression to be evaluated
+   * @param inputs the scope of the expression
+   * @return the result of the expression
+   */
+  @Override
+  public double evalNumber(String expr, Map<String, String> inputs) {
+    MathJS engine = borrow();
+    try {
+      return engine.evalNumber(expr, inputs);
+    } finally {
+      release(engine);
+    }
+  }
+
+  /**
+   * Evaluate an expression over every matrix row with a pooled engine
+   *
+   * @param expr   the math expression to be evaluated
+   * @param matrix the matrix
+   * @return the result column keyed by row
+   */
+  @Override
+  public Map<String, String> evalOverRows(String expr, IMatrix matrix) {
+    MathJS engine = borrow();
+    try {
+      return engine.evalOverRows(expr, matrix);
+    } finally {
+      release(engine);
+    }
+  }
+
+  /**
+   * Get the pool size
+   *
+   * @return the number of engines
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Get the number of idle engines
+   *
+   * @return the available engines
+   */
+  public int getAvailable() {
+    return engines.size();
+  }
+
+  /**
+   * Get wait time metrics
+   *
+   * @return the metrics
+   */
+  public PoolMetrics getMetrics() {
+    return metrics;
+  }
+
+}
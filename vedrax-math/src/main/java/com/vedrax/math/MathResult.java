@@ -0,0 +1,65 @@
+package com.vedrax.math;
+
+/**
+ * Result of a {@link MathJS} evaluation, keeping the engine value: a {@link Number},
+ * a {@code double[]} for arrays of numbers, or the raw engine object otherwise
+ */
+public class MathResult {
+
+  private final Object value;
+
+  MathResult(Object value) {
+    this.value = value;
+  }
+
+  /**
+   * Get the value as returned by the engine
+   *
+   * @return the raw value
+   */
+  public Object getValue() {
+    return value;
+  }
+
+  public boolean isNumber() {
+    return value instanceof Number;
+  }
+
+  public boolean isArray() {
+    return value instanceof double[];
+  }
+
+  /**
+   * Get the result as a number
+   *
+   * @return the number
+   */
+  public double getNumber() {
+    if (!isNumber()) {
+      throw new IllegalStateException(String.format("The result %s is not a number", this));
+    }
+    return ((Number) value).doubleValue();
+  }
+
+  /**
+   * Get the result as an array of numbers
+   *
+   * @return the array
+   */
+  public double[] getArray() {
+    if (!isArray()) {
+      throw new IllegalStateException(String.format("The result %s is not an array of numbers", this));
+    }
+    return (double[]) value;
+  }
+
+  /**
+   * Get the string representation, as returned by {@link MathJS#eval(String, java.util.Map)}
+   *
+   * @return the number or the array as {@code [1.0,2.0]}
+   */
+  @Override
+  public String toString() {
+    return value == null ? "null" : Util.convertObjectToString(value);
+  }
+}
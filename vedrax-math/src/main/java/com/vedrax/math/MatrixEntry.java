@@ -0,0 +1,14 @@
+package com.vedrax.math;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatrixEntry {
+  private String column;
+  private String row;
+  private String value;
+}
@@ -0,0 +1,182 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Evaluation of many independent (matrix, formulas) jobs on an executor.
+ * <p>
+ * Each job borrows an idle evaluator, created by the provided factory when none is idle, so that non
+ * thread-safe engines such as {@link MathJS} are never shared. The service holds at most one evaluator per
+ * job running at the same time, whatever the threads of the executor, and releases them on {@link #close()}.
+ * The formulas of a job are evaluated sequentially by its worker, the parallelism being across jobs. By default
+ * the executor is a work-stealing pool.
+ */
+public class MatrixEvaluationService implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(MatrixEvaluationService.class.getName());
+
+  private final ExecutorService executor;
+  private final boolean ownExecutor;
+  private final Supplier<? extends Evaluator> factory;
+  private final Queue<Evaluator> evaluators = new ConcurrentLinkedQueue<>();
+  private volatile boolean closed;
+  private final EvaluationMetrics metrics = new EvaluationMetrics();
+
+  public MatrixEvaluationService(Supplier<? extends Evaluator> factory) {
+    this(factory, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param factory     the evaluator factory, called when no evaluator is idle
+   * @param parallelism the number of workers of the work-stealing pool
+   */
+  public MatrixEvaluationService(Supplier<? extends Evaluator> factory, int parallelism) {
+    this(factory, newWorkStealingPool(parallelism), true);
+  }
+
+  /**
+   * @param factory  the evaluator factory, called when no evaluator is idle
+   * @param executor the executor, which is not shut down on {@link #close()}
+   */
+  public MatrixEvaluationService(Supplier<? extends Evaluator> factory, ExecutorService executor) {
+    this(factory, executor, false);
+  }
+
+  private MatrixEvaluationService(Supplier<? extends Evaluator> factory, ExecutorService executor, boolean ownExecutor) {
+    Validate.notNull(factory, "factory must be provided");
+    Validate.notNull(executor, "executor must be provided");
+
+    this.executor = executor;
+    this.ownExecutor = ownExecutor;
+    this.factory = factory;
+  }
+
+  private static ExecutorService newWorkStealingPool(int parallelism) {
+    Validate.isTrue(parallelism > 0, "parallelism must be greater than 0");
+
+    return Executors.newWorkStealingPool(parallelism);
+  }
+
+  /**
+   * Submit a job
+   *
+   * @param job the job
+   * @return the result, completed normally even when the job fails
+   * @throws IllegalStateException when the service is closed
+   */
+  public CompletableFuture<EvaluationResult> submit(EvaluationJob job) {
+    Validate.notNull(job, "job must be provided");
+    Validate.validState(!closed, "The evaluation service is closed");
+
+    metrics.recordSubmit();
+    try {
+      return CompletableFuture.supplyAsync(() -> run(job), executor);
+    } catch (RejectedExecutionException ex) {
+      metrics.recordRejected();
+      throw ex;
+    }
+  }
+
+  /**
+   * Submit jobs and get their results as they complete
+   *
+   * @param jobs the jobs
+   * @return the results in completion order, the stream blocking until the next result is available
+   */
+  public Stream<EvaluationResult> evaluateAll(Collection<EvaluationJob> jobs) {
+    Validate.notNull(jobs, "jobs must be provided");
+
+    BlockingQueue<EvaluationResult> completed = new LinkedBlockingQueue<>();
+    jobs.forEach(job -> submit(job).whenComplete((result, ex) ->
+      completed.add(result != null ? result : new EvaluationResult(job, new IllegalStateException("Evaluation aborted", ex), 0))));
+
+    return Stream.generate(() -> take(completed)).limit(jobs.size());
+  }
+
+  /**
+   * Get throughput and queue metrics
+   *
+   * @return the metrics
+   */
+  public EvaluationMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Shut down the executor when created by the service, the jobs already submitted being completed,
+   * and release the idle evaluators
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (ownExecutor) {
+      executor.shutdown();
+    }
+    evaluators.clear();
+  }
+
+  /**
+   * Get the number of idle evaluators
+   *
+   * @return the idle evaluators
+   */
+  int getIdleEvaluators() {
+    return evaluators.size();
+  }
+
+  private EvaluationResult run(EvaluationJob job) {
+    metrics.recordStart();
+    long start = System.nanoTime();
+
+    RuntimeException error = null;
+    Evaluator evaluator = null;
+    boolean failed = true;
+    long elapsed;
+    try {
+      evaluator = borrow();
+      FormulaEngine engine = FormulaEngine.sequential(evaluator);
+      job.getFormulas().forEach(engine::define);
+      engine.evaluate(job.getMatrix());
+      failed = false;
+    } catch (RuntimeException ex) {
+      LOG.log(Level.WARNING, String.format("Evaluation of the job %s failed", job.getId()), ex);
+      error = ex;
+    } finally {
+      release(evaluator);
+      //recorded even for an error, which completes the future exceptionally
+      elapsed = System.nanoTime() - start;
+      metrics.recordEnd(elapsed, failed);
+    }
+
+    return new EvaluationResult(job, error, elapsed);
+  }
+
+  private Evaluator borrow() {
+    Evaluator evaluator = evaluators.poll();
+    return evaluator != null ? evaluator : factory.get();
+  }
+
+  private void release(Evaluator evaluator) {
+    //the evaluators of the jobs still running when closed are dropped
+    if (evaluator != null && !closed) {
+      evaluators.offer(evaluator);
+    }
+  }
+
+  private static EvaluationResult take(BlockingQueue<EvaluationResult> completed) {
+    try {
+      return completed.take();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for an evaluation result", ex);
+    }
+  }
+}
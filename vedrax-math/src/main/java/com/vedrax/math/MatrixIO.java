@@ -0,0 +1,245 @@
+package com.vedrax.math;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming import and export of matrices, without materializing {@link Matrix} and {@link NVP} objects.
+ * <p>
+ * The CSV layout has one line per row, the first column holding the row key and the header the column keys.
+ * Empty cells are missing entries. The JSON layout is the one of a serialized {@code List<Matrix>}, i.e.
+ * {@code [{"key":"A","visible":true,"entries":[{"key":"n1","value":"1"}]}]}.
+ * <p>
+ * The entries are read one at a time and loaded with {@link MatrixLoader}, so only the target matrix is held
+ * in memory. A {@link ColumnarMatrix} is the most compact target for large files.
+ */
+public final class MatrixIO {
+
+  private static final String ROW_HEADER = "row";
+
+  private static final CsvMapper CSV_MAPPER = new CsvMapper().enable(CsvParser.Feature.WRAP_AS_ARRAY);
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private MatrixIO() {
+  }
+
+  /**
+   * Load a CSV stream into a matrix
+   *
+   * @param reader the CSV source, not closed
+   * @param matrix the target matrix
+   * @param <T>    the matrix type
+   * @return the matrix
+   */
+  public static <T extends IMatrix> T readCsv(Reader reader, T matrix) {
+    Validate.notNull(reader, "reader must be provided");
+    Validate.notNull(matrix, "matrix must be provided");
+
+    long start = System.nanoTime();
+    long count = 0;
+    int columns;
+
+    try (MappingIterator<String[]> lines = CSV_MAPPER.readerFor(String[].class)
+      .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+      .readValues(reader)) {
+
+      Validate.isTrue(lines.hasNext(), "The CSV header is missing");
+      String[] header = lines.next();
+      columns = header.length - 1;
+
+      while (lines.hasNext()) {
+        String[] line = lines.next();
+        if (line.length == 0 || StringUtils.isEmpty(line[0])) {
+          continue;
+        }
+
+        for (int i = 1; i < line.length && i < header.length; i++) {
+          if (StringUtils.isNotEmpty(line[i])) {
+            MatrixLoader.load(matrix, header[i], line[0], line[i]);
+            count++;
+          }
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    MatrixLoader.logSummary(count, columns, start);
+    return matrix;
+  }
+
+  /**
+   * Write a matrix as CSV, one line per row key
+   *
+   * @param matrix the matrix
+   * @param writer the CSV target, flushed but not closed
+   */
+  public static void writeCsv(IMatrix matrix, Writer writer) {
+    Validate.notNull(matrix, "matrix must be provided");
+    Validate.notNull(writer, "writer must be provided");
+
+    List<String> columns = new ArrayList<>(matrix.getColumnKeys());
+
+    try (CsvGenerator generator = CSV_MAPPER.getFactory().createGenerator(writer)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+      generator.writeStartArray();
+      generator.writeString(ROW_HEADER);
+      for (String column : columns) {
+        generator.writeString(column);
+      }
+      generator.writeEndArray();
+
+      for (String row : matrix.getRowKeys()) {
+        generator.writeStartArray();
+        generator.writeString(row);
+        for (String column : columns) {
+          generator.writeString(StringUtils.defaultString(matrix.getEntry(column, row)));
+        }
+        generator.writeEndArray();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Load a JSON stream of matrices into a matrix
+   *
+   * @param reader the JSON source, not closed
+   * @param matrix the target matrix
+   * @param <T>    the matrix type
+   * @return the matrix
+   */
+  public static <T extends IMatrix> T readJson(Reader reader, T matrix) {
+    Validate.notNull(reader, "reader must be provided");
+    Validate.notNull(matrix, "matrix must be provided");
+
+    long start = System.nanoTime();
+    long count = 0;
+    int columns = 0;
+
+    try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+      parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+      expect(parser.nextToken(), JsonToken.START_ARRAY);
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        count += readColumn(parser, matrix);
+        columns++;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+
+    MatrixLoader.logSummary(count, columns, start);
+    return matrix;
+  }
+
+  /**
+   * Write a matrix as JSON, in the layout of a serialized {@code List<Matrix>}
+   *
+   * @param matrix the matrix
+   * @param writer the JSON target, flushed but not closed
+   */
+  public static void writeJson(IMatrix matrix, Writer writer) {
+    Validate.notNull(matrix, "matrix must be provided");
+    Validate.notNull(writer, "writer must be provided");
+
+    try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+      generator.writeStartArray();
+      for (String column : matrix.getColumnKeys()) {
+        generator.writeStartObject();
+        generator.writeStringField("key", column);
+        generator.writeBooleanField("visible", true);
+        generator.writeArrayFieldStart("entries");
+        for (Map.Entry<String, String> entry : matrix.getColumn(column).entrySet()) {
+          generator.writeStartObject();
+          generator.writeStringField("key", entry.getKey());
+          generator.writeStringField("value", entry.getValue());
+          generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Read one matrix object. The entries are loaded as they come, unless the key follows them.
+   */
+  private static long readColumn(JsonParser parser, IMatrix matrix) throws IOException {
+    String column = null;
+    List<String[]> pending = new ArrayList<>();
+    long count = 0;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+
+      if ("key".equals(field)) {
+        column = parser.getValueAsString();
+      } else if ("entries".equals(field) && token == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          String[] entry = readEntry(parser);
+          if (column == null) {
+            pending.add(entry);
+          } else {
+            MatrixLoader.load(matrix, column, entry[0], entry[1]);
+            count++;
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+
+    Validate.notNull(column, "The matrix key is missing");
+    for (String[] entry : pending) {
+      MatrixLoader.load(matrix, column, entry[0], entry[1]);
+      count++;
+    }
+    return count;
+  }
+
+  private static String[] readEntry(JsonParser parser) throws IOException {
+    String[] entry = new String[2];
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+
+      if ("key".equals(field)) {
+        entry[0] = parser.getValueAsString();
+      } else if ("value".equals(field)) {
+        entry[1] = parser.getValueAsString();
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return entry;
+  }
+
+  private static void expect(JsonToken actual, JsonToken expected) {
+    Validate.isTrue(actual == expected, "Expected %s but found %s", expected, actual);
+  }
+}
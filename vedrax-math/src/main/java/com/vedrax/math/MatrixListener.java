@@ -0,0 +1,19 @@
+package com.vedrax.math;
+
+/**
+ * Listener notified when a matrix entry changes
+ */
+@FunctionalInterface
+public interface MatrixListener {
+
+  /**
+   * Called after an entry has been set
+   *
+   * @param column   the column key
+   * @param row      the row key
+   * @param oldValue the previous value, null when the entry was missing
+   * @param newValue the new value
+   */
+  void entryChanged(String column, String row, String oldValue, String newValue);
+
+}
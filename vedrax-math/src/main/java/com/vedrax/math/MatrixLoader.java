@@ -0,0 +1,91 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Bulk loading of matrix entries.
+ * <p>
+ * Unlike {@link IMatrix#addEntry(String, String, String)}, the entries are validated with {@link NumberScanner},
+ * stored without per entry logging, and a single summary is logged at the end of the load. The listeners of
+ * an {@link ObservableMatrix} are notified of the loaded entries, which are only marked dirty when tracking is
+ * enabled. A {@link ColumnarMatrix} receives the parsed numbers directly. The rows loaded become part of
+ * the row keys.
+ */
+public final class MatrixLoader {
+
+  private static final Logger LOG = Logger.getLogger(MatrixLoader.class.getName());
+
+  private MatrixLoader() {
+  }
+
+  /**
+   * Load entries into a matrix
+   *
+   * @param matrix  the target matrix
+   * @param entries the entries
+   * @return the number of entries loaded
+   */
+  public static long load(IMatrix matrix, Stream<MatrixEntry> entries) {
+    Validate.notNull(matrix, "matrix must be provided");
+    Validate.notNull(entries, "entries must be provided");
+
+    long start = System.nanoTime();
+    long[] count = new long[1];
+    Set<String> columns = new HashSet<>();
+
+    entries.sequential().forEach(entry -> {
+      load(matrix, entry.getColumn(), entry.getRow(), entry.getValue());
+      columns.add(entry.getColumn());
+      count[0]++;
+    });
+
+    logSummary(count[0], columns.size(), start);
+
+    return count[0];
+  }
+
+  /**
+   * Load one entry, without logging
+   *
+   * @param matrix the target matrix
+   * @param column the column key
+   * @param row    the row key
+   * @param value  the value
+   */
+  public static void load(IMatrix matrix, String column, String row, String value) {
+    Validate.notNull(column, "column must be provided");
+    Validate.notNull(row, "row must be provided");
+    Validate.notNull(value, "value must be provided");
+
+    if (!NumberScanner.isNumber(value)) {
+      throw new IllegalArgumentException(String.format("The value %s, for the column %s and row %s is not correct", value, column, row));
+    }
+
+    if (matrix instanceof ColumnarMatrix) {
+      ((ColumnarMatrix) matrix).load(column, row, ColumnarMatrix.parse(value));
+    } else if (matrix instanceof DimMatrix) {
+      ((DimMatrix) matrix).put(column, row, value);
+    } else {
+      matrix.addEntry(column, row, value);
+    }
+  }
+
+  /**
+   * Log the single summary of a load, the matrix not being queried so that logging cannot fail the load
+   *
+   * @param count   the number of entries loaded
+   * @param columns the number of columns loaded
+   * @param start   the start of the load, from {@link System#nanoTime()}
+   */
+  static void logSummary(long count, int columns, long start) {
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    LOG.log(Level.INFO, () -> String.format("Loaded %d entries into %d columns in %d ms", count, columns, elapsed));
+  }
+}
@@ -0,0 +1,81 @@
+package com.vedrax.math;
+
+import com.vedrax.math.expression.Expression;
+import com.vedrax.math.expression.Functions;
+import com.vedrax.math.expression.MapScope;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Pure Java evaluator for the mathjs expression subset listed in {@link FunctionType}.
+ * <p>
+ * Results are rounded to 5 decimals as {@link MathJS} does. Parsed expressions are cached
+ * and the evaluator is thread-safe.
+ */
+public class NativeEvaluator implements Evaluator {
+
+  protected static int DEFAULT_CACHE_SIZE = 512;
+
+  private static final int DECIMALS = 5;
+
+  private final Map<String, Expression> expressions;
+
+  public NativeEvaluator() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * @param cacheSize the maximum number of parsed expressions kept by this instance
+   */
+  public NativeEvaluator(int cacheSize) {
+    expressions = Collections.synchronizedMap(new LRUCache<>(cacheSize));
+  }
+
+  @Override
+  public String eval(String expr, Map<String, String> inputs) {
+    Validate.notNull(expr, "expression must be provided");
+
+    double result = compile(expr).evaluate(new MapScope(inputs));
+    return String.valueOf(Functions.round(result, DECIMALS));
+  }
+
+  @Override
+  public double evalNumber(String expr, Map<String, String> inputs) {
+    Validate.notNull(expr, "expression must be provided");
+
+    return Functions.round(compile(expr).evaluate(new MapScope(inputs)), DECIMALS);
+  }
+
+  @Override
+  public Map<String, String> evalOverRows(String expr, IMatrix matrix) {
+    Validate.notNull(matrix, "matrix must be provided");
+
+    Expression expression = compile(expr);
+    RowBinding binding = RowBinding.of(expression.getSymbols(), matrix);
+
+    double[] results = binding.evaluate(scope -> Functions.round(expression.evaluate(scope), DECIMALS), matrix.getParams());
+    return binding.toColumn(results);
+  }
+
+  /**
+   * Get the parsed expression, parsing it on first use
+   *
+   * @param expr the math expression
+   * @return the parsed expression
+   */
+  public Expression compile(String expr) {
+    Validate.notNull(expr, "expression must be provided");
+
+    Expression expression = expressions.get(expr);
+
+    if (expression == null) {
+      expression = Expression.parse(expr);
+      expressions.put(expr, expression);
+    }
+
+    return expression;
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+/**
+ * Allocation-free check of decimal numbers, e.g. "-12", "3.5" or "1.2e-3".
+ * <p>
+ * Values which are not plain decimals, such as hexadecimal, octal or type qualified numbers, are delegated to
+ * {@link NumberUtils#isCreatable(String)}, so that the accepted values are the ones it accepts.
+ */
+public final class NumberScanner {
+
+  private NumberScanner() {
+  }
+
+  /**
+   * Check if a value is a number accepted by the matrices
+   *
+   * @param value the value
+   * @return true when the value is a number
+   */
+  public static boolean isNumber(String value) {
+    return isDecimal(value) || NumberUtils.isCreatable(value);
+  }
+
+  /**
+   * Convert a value accepted by {@link #isNumber(String)} to a double
+   *
+   * @param value the value
+   * @return the double value
+   */
+  public static double toDouble(String value) {
+    if (isDecimal(value)) {
+      return Double.parseDouble(value);
+    }
+    //hexadecimal, octal or type qualified numbers accepted by NumberUtils
+    return NumberUtils.createNumber(value).doubleValue();
+  }
+
+  /**
+   * Check if a value is a plain decimal number, without allocating
+   *
+   * @param value the value
+   * @return true for an optional minus sign, digits with an optional fraction and an optional exponent,
+   * a leading zero being only followed by the fraction or the exponent
+   */
+  public static boolean isDecimal(CharSequence value) {
+    if (value == null) {
+      return false;
+    }
+
+    int length = value.length();
+    int i = 0;
+    if (i < length && value.charAt(i) == '-') {
+      i++;
+    }
+
+    //a leading zero followed by digits is an octal number for NumberUtils
+    if (i + 1 < length && value.charAt(i) == '0' && isDigit(value.charAt(i + 1))) {
+      return false;
+    }
+
+    int digits = 0;
+    while (i < length && isDigit(value.charAt(i))) {
+      i++;
+      digits++;
+    }
+    if (i < length && value.charAt(i) == '.') {
+      i++;
+      while (i < length && isDigit(value.charAt(i))) {
+        i++;
+        digits++;
+      }
+    }
+    if (digits == 0) {
+      return false;
+    }
+
+    if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+      i++;
+      if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+        i++;
+      }
+      int exponentDigits = 0;
+      while (i < length && isDigit(value.charAt(i))) {
+        i++;
+        exponentDigits++;
+      }
+      if (exponentDigits == 0) {
+        return false;
+      }
+    }
+
+    return i == length;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
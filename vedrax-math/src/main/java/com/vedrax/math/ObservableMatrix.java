@@ -0,0 +1,63 @@
+package com.vedrax.math;
+
+import java.util.Set;
+
+/**
+ * Matrix notifying its listeners of the entry changes and keeping track of the changed entries,
+ * so that the dependent results can be recomputed for the changed rows only.
+ * <p>
+ * The changed entries are only tracked while {@link #setTracking(boolean) tracking} is enabled or
+ * a listener is registered.
+ */
+public interface ObservableMatrix extends IMatrix {
+
+  /**
+   * Register a listener notified of every entry change
+   *
+   * @param listener the listener
+   */
+  void addListener(MatrixListener listener);
+
+  /**
+   * Unregister a listener
+   *
+   * @param listener the listener
+   */
+  void removeListener(MatrixListener listener);
+
+  /**
+   * Enable or disable the tracking of the changed entries, disabled by default. Disabling it clears the
+   * dirty columns and rows.
+   *
+   * @param tracking true to track the changed entries
+   */
+  void setTracking(boolean tracking);
+
+  /**
+   * Check if the changed entries are tracked without listener
+   *
+   * @return true when tracking is enabled
+   */
+  boolean isTracking();
+
+  /**
+   * Get the columns changed since the last call to {@link #clearDirty()}
+   *
+   * @return dirty column keys
+   */
+  Set<String> getDirtyColumns();
+
+  /**
+   * Get the rows of a column changed since the last call to {@link #clearDirty()}
+   *
+   * @param column the column key
+   * @return dirty row keys
+   */
+  Set<String> getDirtyRows(String column);
+
+  /**
+   * Reset the dirty columns and rows
+   */
+  void clearDirty();
+
+}
@@ -0,0 +1,81 @@
+package com.vedrax.math;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wait time metrics of a {@link MathJSPool}
+ */
+public class PoolMetrics {
+
+  private final LongAdder borrowCount = new LongAdder();
+  private final LongAdder timeoutCount = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  void recordBorrow(long waitNanos) {
+    borrowCount.increment();
+    totalWaitNanos.add(waitNanos);
+    maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+  }
+
+  void recordTimeout() {
+    timeoutCount.increment();
+  }
+
+  /**
+   * Get the number of successful borrows
+   *
+   * @return the borrow count
+   */
+  public long getBorrowCount() {
+    return borrowCount.sum();
+  }
+
+  /**
+   * Get the number of borrows which timed out
+   *
+   * @return the timeout count
+   */
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
+  }
+
+  /**
+   * Get the cumulated wait time
+   *
+   * @param unit the time unit
+   * @return the total wait time
+   */
+  public long getTotalWait(TimeUnit unit) {
+    return unit.convert(totalWaitNanos.sum(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the longest wait time
+   *
+   * @param unit the time unit
+   * @return the max wait time
+   */
+  public long getMaxWait(TimeUnit unit) {
+    return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the average wait time per borrow
+   *
+   * @param unit the time unit
+   * @return the average wait time
+   */
+  public long getAverageWait(TimeUnit unit) {
+    long count = getBorrowCount();
+    return count == 0 ? 0 : unit.convert(totalWaitNanos.sum() / count, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("borrows=%d, timeouts=%d, avgWait=%dus, maxWait=%dus",
+      getBorrowCount(), getTimeoutCount(), getAverageWait(TimeUnit.MICROSECONDS), getMaxWait(TimeUnit.MICROSECONDS));
+  }
+}
@@ -0,0 +1,184 @@
+package com.vedrax.math;
+
+import com.vedrax.math.expression.MapScope;
+import com.vedrax.math.expression.Scope;
+import org.apache.commons.lang3.Validate;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Column values of a matrix bound as primitive arrays, for evaluating one expression over every row.
+ * <p>
+ * Only the columns referenced by the expression are bound. Rows missing a value in one of
+ * these columns are left out of the evaluation.
+ */
+class RowBinding {
+
+  private final String[] names;
+  private final double[][] columns;
+  private final List<String> rows;
+
+  private RowBinding(String[] names, double[][] columns, List<String> rows) {
+    this.names = names;
+    this.columns = columns;
+    this.rows = rows;
+  }
+
+  /**
+   * Bind the matrix columns referenced by the expression
+   *
+   * @param symbols the symbols of the expression
+   * @param matrix  the matrix
+   * @return the binding
+   */
+  static RowBinding of(Collection<String> symbols, IMatrix matrix) {
+    Validate.notNull(symbols, "symbols must be provided");
+    Validate.notNull(matrix, "matrix must be provided");
+
+    if (matrix instanceof ColumnarMatrix) {
+      return of(symbols, (ColumnarMatrix) matrix);
+    }
+
+    Set<String> columnKeys = matrix.getColumnKeys();
+    List<Map<String, String>> referenced = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    for (String symbol : symbols) {
+      if (columnKeys.contains(symbol) && !names.contains(symbol)) {
+        names.add(symbol);
+        referenced.add(matrix.getColumn(symbol));
+      }
+    }
+
+    List<String> rows = new ArrayList<>();
+    for (String row : matrix.getRowKeys()) {
+      if (referenced.stream().allMatch(column -> column.get(row) != null)) {
+        rows.add(row);
+      }
+    }
+
+    double[][] columns = new double[names.size()][rows.size()];
+    for (int i = 0; i < names.size(); i++) {
+      Map<String, String> column = referenced.get(i);
+      for (int r = 0; r < rows.size(); r++) {
+        columns[i][r] = ColumnarMatrix.parse(column.get(rows.get(r)));
+      }
+    }
+
+    return new RowBinding(names.toArray(new String[0]), columns, rows);
+  }
+
+  /**
+   * Bind the columns of a columnar matrix, reading its primitive storage directly
+   */
+  private static RowBinding of(Collection<String> symbols, ColumnarMatrix matrix) {
+    List<String> names = new ArrayList<>();
+    List<ColumnarMatrix.Column> referenced = new ArrayList<>();
+    for (String symbol : symbols) {
+      ColumnarMatrix.Column column = matrix.getStorage(symbol);
+      if (column != null && !names.contains(symbol)) {
+        names.add(symbol);
+        referenced.add(column);
+      }
+    }
+
+    BitSet valid = new BitSet();
+    valid.set(0, matrix.getRowCount());
+    referenced.forEach(column -> valid.and(column.getPresent()));
+
+    List<String> rows = new ArrayList<>(valid.cardinality());
+    double[][] columns = new double[names.size()][valid.cardinality()];
+    for (int row = valid.nextSetBit(0); row >= 0; row = valid.nextSetBit(row + 1)) {
+      for (int i = 0; i < columns.length; i++) {
+        columns[i][rows.size()] = referenced.get(i).get(row);
+      }
+      rows.add(matrix.getRowKey(row));
+    }
+
+    return new RowBinding(names.toArray(new String[0]), columns, rows);
+  }
+
+  String[] getNames() {
+    return names;
+  }
+
+  double[][] getColumns() {
+    return columns;
+  }
+
+  int getRowCount() {
+    return rows.size();
+  }
+
+  /**
+   * Evaluate a native expression for every bound row
+   *
+   * @param evaluator the row evaluation
+   * @param params    the matrix params, used for the symbols which are not columns
+   * @return the results in row order
+   */
+  double[] evaluate(ToDoubleFunction<Scope> evaluator, Map<String, String> params) {
+    RowScope scope = new RowScope(new MapScope(params));
+    double[] results = new double[rows.size()];
+    for (int r = 0; r < results.length; r++) {
+      scope.row = r;
+      results[r] = evaluator.applyAsDouble(scope);
+    }
+    return results;
+  }
+
+  /**
+   * Convert the results to a matrix column
+   *
+   * @param results the results in row order
+   * @return the column keyed by row
+   */
+  Map<String, String> toColumn(double[] results) {
+    Validate.isTrue(results.length == rows.size(), "one result per row is expected");
+
+    Map<String, String> column = new LinkedHashMap<>();
+    for (int r = 0; r < results.length; r++) {
+      column.put(rows.get(r), String.valueOf(results[r]));
+    }
+    return column;
+  }
+
+  private int indexOf(String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Scope reading the bound columns at the current row
+   */
+  private class RowScope implements Scope {
+
+    private final Scope params;
+    private int row;
+
+    RowScope(Scope params) {
+      this.params = params;
+    }
+
+    @Override
+    public boolean contains(String name) {
+      return indexOf(name) >= 0 || params.contains(name);
+    }
+
+    @Override
+    public double get(String name) {
+      int index = indexOf(name);
+      return index >= 0 ? columns[index][row] : params.get(name);
+    }
+
+    @Override
+    public double[] getValues(String name) {
+      int index = indexOf(name);
+      return index >= 0 ? new double[]{columns[index][row]} : params.getValues(name);
+    }
+  }
+}
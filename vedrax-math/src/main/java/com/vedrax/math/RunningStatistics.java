@@ -0,0 +1,120 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Sum, mean and variance of a matrix column, maintained incrementally as its entries change.
+ * <p>
+ * Registered as a {@link MatrixListener}, each change removes the previous value and adds the new one
+ * with Welford's algorithm, so the column is only scanned once at creation.
+ */
+public class RunningStatistics implements MatrixListener {
+
+  private final String column;
+
+  private long count;
+  private double sum;
+  private double mean;
+  private double m2;
+
+  /**
+   * Compute the statistics of a column and keep them up to date with the matrix changes
+   *
+   * @param matrix the matrix
+   * @param column the column key
+   */
+  public RunningStatistics(ObservableMatrix matrix, String column) {
+    Validate.notNull(matrix, "matrix must be provided");
+    Validate.notNull(column, "column must be provided");
+
+    this.column = column;
+
+    if (matrix.getColumnKeys().contains(column)) {
+      matrix.getColumn(column).values().forEach(value -> add(ColumnarMatrix.parse(value)));
+    }
+
+    matrix.addListener(this);
+  }
+
+  @Override
+  public synchronized void entryChanged(String column, String row, String oldValue, String newValue) {
+    if (!this.column.equals(column)) {
+      return;
+    }
+
+    if (oldValue != null) {
+      remove(ColumnarMatrix.parse(oldValue));
+    }
+
+    if (newValue != null) {
+      add(ColumnarMatrix.parse(newValue));
+    }
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  public synchronized long getCount() {
+    return count;
+  }
+
+  public synchronized double getSum() {
+    return sum;
+  }
+
+  /**
+   * Get the mean
+   *
+   * @return the mean or NaN when the column is empty
+   */
+  public synchronized double getMean() {
+    return count == 0 ? Double.NaN : mean;
+  }
+
+  /**
+   * Get the unbiased variance, as computed by {@link Statistics#variance(double[])}
+   *
+   * @return the variance, 0 for a single value or NaN without value
+   */
+  public synchronized double getVariance() {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    return count == 1 ? 0 : Math.max(m2, 0) / (count - 1);
+  }
+
+  public synchronized double getStd() {
+    return Math.sqrt(getVariance());
+  }
+
+  private void add(double value) {
+    count++;
+    sum += value;
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+  }
+
+  private void remove(double value) {
+    if (count <= 1) {
+      count = 0;
+      sum = 0;
+      mean = 0;
+      m2 = 0;
+      return;
+    }
+
+    count--;
+    sum -= value;
+    double previousMean = mean;
+    mean = (previousMean * (count + 1) - value) / count;
+    m2 -= (value - previousMean) * (value - mean);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("RunningStatistics{column=%s, count=%d, sum=%s, mean=%s, variance=%s}",
+      column, count, sum, getMean(), getVariance());
+  }
+}
@@ -0,0 +1,194 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Statistics functions over primitive values, following the mathjs definitions.
+ * <p>
+ * Arrays of at least {@link #PARALLEL_THRESHOLD} values are processed in parallel on the common pool.
+ */
+public class Statistics {
+
+  public static final int PARALLEL_THRESHOLD = 1 << 15;
+
+  private Statistics() {
+  }
+
+  public static double sum(double[] values) {
+    Validate.notNull(values, "values must be provided");
+
+    if (values.length >= PARALLEL_THRESHOLD) {
+      return Arrays.stream(values).parallel().sum();
+    }
+
+    double sum = 0;
+    for (double value : values) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  public static double mean(double[] values) {
+    checkNotEmpty(values);
+
+    return sum(values) / values.length;
+  }
+
+  public static double min(double[] values) {
+    checkNotEmpty(values);
+
+    return reduce(values, (min, value) -> value < min || Double.isNaN(value) ? value : min);
+  }
+
+  public static double max(double[] values) {
+    checkNotEmpty(values);
+
+    return reduce(values, (max, value) -> value > max || Double.isNaN(value) ? value : max);
+  }
+
+  /**
+   * Unbiased variance, i.e. divided by n - 1, computed in a single pass
+   *
+   * @param values the values
+   * @return the variance
+   */
+  public static double variance(double[] values) {
+    checkNotEmpty(values);
+
+    Moments moments;
+    if (values.length >= PARALLEL_THRESHOLD) {
+      moments = Arrays.stream(values).parallel().collect(Moments::new, Moments::add, Moments::combine);
+    } else {
+      moments = new Moments();
+      for (double value : values) {
+        moments.add(value);
+      }
+    }
+    //a single value has no dispersion, as in mathjs
+    return values.length > 1 ? moments.m2 / (values.length - 1) : 0;
+  }
+
+  /**
+   * Unbiased standard deviation
+   *
+   * @param values the values
+   * @return the standard deviation
+   */
+  public static double std(double[] values) {
+    return Math.sqrt(variance(values));
+  }
+
+  public static double median(double[] values) {
+    checkNotEmpty(values);
+
+    return sortedMedian(sorted(values));
+  }
+
+  /**
+   * Percentile with linear interpolation between the closest ranks, as the mathjs quantileSeq function
+   *
+   * @param values      the values
+   * @param probability the probability between 0 and 1, e.g. 0.9 for the 90th percentile
+   * @return the percentile
+   */
+  public static double percentile(double[] values, double probability) {
+    checkNotEmpty(values);
+    Validate.isTrue(probability >= 0 && probability <= 1, "probability must be between 0 and 1");
+
+    double[] sorted = sorted(values);
+    double index = probability * (sorted.length - 1);
+    int lower = (int) Math.floor(index);
+    double fraction = index - lower;
+    if (fraction == 0) {
+      return sorted[lower];
+    }
+    return sorted[lower] + fraction * (sorted[lower + 1] - sorted[lower]);
+  }
+
+  /**
+   * Median absolute deviation
+   *
+   * @param values the values
+   * @return the median of the absolute deviations from the median
+   */
+  public static double mad(double[] values) {
+    double median = median(values);
+
+    double[] deviations = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      deviations[i] = Math.abs(values[i] - median);
+    }
+    sort(deviations);
+    return sortedMedian(deviations);
+  }
+
+  private static double reduce(double[] values, DoubleBinaryOperator operator) {
+    if (values.length >= PARALLEL_THRESHOLD) {
+      return Arrays.stream(values).parallel().reduce(operator).getAsDouble();
+    }
+
+    double result = values[0];
+    for (int i = 1; i < values.length; i++) {
+      result = operator.applyAsDouble(result, values[i]);
+    }
+    return result;
+  }
+
+  private static double[] sorted(double[] values) {
+    double[] sorted = values.clone();
+    sort(sorted);
+    return sorted;
+  }
+
+  private static void sort(double[] values) {
+    if (values.length >= PARALLEL_THRESHOLD) {
+      Arrays.parallelSort(values);
+    } else {
+      Arrays.sort(values);
+    }
+  }
+
+  private static double sortedMedian(double[] sorted) {
+    int middle = sorted.length / 2;
+    if (sorted.length % 2 == 1) {
+      return sorted[middle];
+    }
+    return (sorted[middle - 1] + sorted[middle]) / 2;
+  }
+
+  private static void checkNotEmpty(double[] values) {
+    Validate.notNull(values, "values must be provided");
+    Validate.isTrue(values.length > 0, "values must not be empty");
+  }
+
+  /**
+   * Single pass mean and sum of squared deviations (Welford), mergeable for parallel streams (Chan et al.)
+   */
+  private static class Moments {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    void add(double value) {
+      count++;
+      double delta = value - mean;
+      mean += delta / count;
+      m2 += delta * (value - mean);
+    }
+
+    void combine(Moments other) {
+      if (other.count == 0) {
+        return;
+      }
+      long total = count + other.count;
+      double delta = other.mean - mean;
+      mean += delta * other.count / total;
+      m2 += other.m2 + delta * delta * count * other.count / total;
+      count = total;
+    }
+  }
+}
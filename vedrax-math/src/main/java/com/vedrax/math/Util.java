@@ -9,7 +9,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.StringJoiner;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -76,9 +78,12 @@ public class Util {
    */
   public static String convertObjectToString(Object val) {
     if (isArray(val)) {
-      Object[] objects = (Object[]) val;
-      String[] values = convertObjectToArray(objects);
-      return "[" + String.join(",", values) + "]";
+      StringJoiner joiner = new StringJoiner(",", "[", "]");
+      int length = Array.getLength(val);
+      for (int i = 0; i < length; i++) {
+        joiner.add(String.valueOf(Array.get(val, i)));
+      }
+      return joiner.toString();
     }
 
     return String.valueOf(val);
@@ -0,0 +1,52 @@
+package com.vedrax.math.expression;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Set;
+
+/**
+ * Array literal such as {@code [1, 2, a]}
+ */
+public class ArrayNode extends Node {
+
+  private final Node[] items;
+
+  ArrayNode(Node[] items) {
+    this.items = items;
+  }
+
+  @Override
+  public double evaluate(Scope scope) {
+    throw new IllegalArgumentException("An array cannot be used as a scalar");
+  }
+
+  @Override
+  public double[] evaluateValues(Scope scope) {
+    double[] values = new double[items.length];
+    for (int i = 0; i < items.length; i++) {
+      values[i] = items[i].evaluate(scope);
+    }
+    return values;
+  }
+
+  @Override
+  public BigDecimal evaluateDecimal(Scope scope, MathContext context) {
+    throw new IllegalArgumentException("An array cannot be used as a scalar");
+  }
+
+  @Override
+  public BigDecimal[] evaluateDecimalValues(Scope scope, MathContext context) {
+    BigDecimal[] values = new BigDecimal[items.length];
+    for (int i = 0; i < items.length; i++) {
+      values[i] = items[i].evaluateDecimal(scope, context);
+    }
+    return values;
+  }
+
+  @Override
+  void collectSymbols(Set<String> symbols) {
+    for (Node item : items) {
+      item.collectSymbols(symbols);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.vedrax.math.expression;
+
+import org.apache.commons.lang3.Validate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parsed math expression, immutable and safe to share between threads
+ */
+public class Expression {
+
+  private final String text;
+  private final Node root;
+  private final Set<String> symbols;
+
+  private Expression(String text, Node root) {
+    this.text = text;
+    this.root = root;
+
+    Set<String> names = new LinkedHashSet<>();
+    root.collectSymbols(names);
+    this.symbols = Collections.unmodifiableSet(names);
+  }
+
+  /**
+   * Parse an expression
+   *
+   * @param text the expression
+   * @return the parsed expression
+   */
+  public static Expression parse(String text) {
+    Validate.notNull(text, "expression must be provided");
+
+    return new Expression(text, new Parser(text).parse());
+  }
+
+  /**
+   * Evaluate the expression
+   *
+   * @param scope the variables
+   * @return the result
+   */
+  public double evaluate(Scope scope) {
+    Validate.notNull(scope, "scope must be provided");
+
+    return root.evaluate(scope);
+  }
+
+  /**
+   * Evaluate the expression with decimal arithmetic. The functions without decimal implementation,
+   * such as the logarithms, are computed with double precision.
+   *
+   * @param scope   the variables
+   * @param context the precision and rounding of the operations
+   * @return the result
+   */
+  public BigDecimal evaluateDecimal(Scope scope, MathContext context) {
+    Validate.notNull(scope, "scope must be provided");
+    Validate.notNull(context, "context must be provided");
+
+    return root.evaluateDecimal(scope, context);
+  }
+
+  /**
+   * Get the variable names referenced by the expression, constants included
+   *
+   * @return the names in order of appearance
+   */
+  public Set<String> getSymbols() {
+    return symbols;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+}
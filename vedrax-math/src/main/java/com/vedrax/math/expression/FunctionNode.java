@@ -0,0 +1,36 @@
+package com.vedrax.math.expression;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Set;
+
+/**
+ * Function call, operators being represented as calls to their function (e.g. {@code +} as {@code add})
+ */
+public class FunctionNode extends Node {
+
+  private final MathFunction function;
+  private final Node[] args;
+
+  FunctionNode(MathFunction function, Node[] args) {
+    this.function = function;
+    this.args = args;
+  }
+
+  @Override
+  public double evaluate(Scope scope) {
+    return function.apply(args, scope);
+  }
+
+  @Override
+  public BigDecimal evaluateDecimal(Scope scope, MathContext context) {
+    return function.applyDecimal(args, scope, context);
+  }
+
+  @Override
+  void collectSymbols(Set<String> symbols) {
+    for (Node arg : args) {
+      arg.collectSymbols(symbols);
+    }
+  }
+}
@@ -0,0 +1,415 @@
+package com.vedrax.math.expression;
+
+import com.vedrax.math.Statistics;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registry of the functions supported by the native evaluator,
+ * mirroring the mathjs semantics for the subset listed in {@link com.vedrax.math.FunctionType}
+ */
+public class Functions {
+
+  private static final double EPSILON = 1e-12;
+  private static final double DBL_EPSILON = Math.ulp(1.0);
+
+  private static final Map<String, MathFunction> FUNCTIONS = new HashMap<>();
+
+  static {
+    unary("abs", Math::abs);
+    unary("cbrt", Math::cbrt);
+    unary("ceil", Math::ceil);
+    unary("cube", x -> x * x * x);
+    unary("exp", Math::exp);
+    unary("expm1", Math::expm1);
+    unary("fix", x -> x > 0 ? Math.floor(x) : Math.ceil(x));
+    unary("floor", Math::floor);
+    unary("log10", x -> Math.log(x) / Math.log(10));
+    unary("log1p", Math::log1p);
+    unary("log2", x -> Math.log(x) / Math.log(2));
+    unary("sign", Math::signum);
+    unary("sqrt", Math::sqrt);
+    unary("square", x -> x * x);
+    unary("unaryMinus", x -> -x);
+    unary("unaryPlus", x -> x);
+
+    binary("add", (x, y) -> x + y);
+    binary("subtract", (x, y) -> x - y);
+    binary("multiply", (x, y) -> x * y);
+    binary("divide", (x, y) -> x / y);
+    binary("pow", Math::pow);
+    binary("mod", Functions::mod);
+    binary("combinations", Functions::combinations);
+    binary("compare", (x, y) -> nearlyEqual(x, y) ? 0 : (x > y ? 1 : -1));
+    binary("equal", (x, y) -> toNumber(nearlyEqual(x, y)));
+    binary("unequal", (x, y) -> toNumber(!nearlyEqual(x, y)));
+    binary("larger", (x, y) -> toNumber(x > y && !nearlyEqual(x, y)));
+    binary("largerEq", (x, y) -> toNumber(x > y || nearlyEqual(x, y)));
+    binary("smaller", (x, y) -> toNumber(x < y && !nearlyEqual(x, y)));
+    binary("smallerEq", (x, y) -> toNumber(x < y || nearlyEqual(x, y)));
+
+    register(new MathFunction("log", 1, 2, (args, scope) -> args.length == 1
+      ? Math.log(args[0].evaluate(scope))
+      : Math.log(args[0].evaluate(scope)) / Math.log(args[1].evaluate(scope))));
+    register(new MathFunction("round", 1, 2, (args, scope) -> round(args[0].evaluate(scope),
+      args.length == 1 ? 0 : (int) checkInteger(args[1].evaluate(scope)))));
+    register(new MathFunction("nthRoot", 1, 2, (args, scope) -> nthRoot(args[0].evaluate(scope),
+      args.length == 1 ? 2 : args[1].evaluate(scope))));
+
+    aggregate("gcd", 2, Functions::gcd);
+    aggregate("lcm", 2, Functions::lcm);
+    aggregate("hypot", 1, Functions::hypot);
+    aggregate("norm", 1, Functions::hypot);
+    aggregate("sum", 1, Statistics::sum);
+    aggregate("mean", 1, Statistics::mean);
+    aggregate("median", 1, Statistics::median);
+    aggregate("min", 1, Statistics::min);
+    aggregate("max", 1, Statistics::max);
+    aggregate("std", 1, Statistics::std);
+    aggregate("variance", 1, Statistics::variance);
+    aggregate("mad", 1, Statistics::mad);
+
+    //decimal implementations, the other functions being computed with double precision
+    decimalUnary("abs", BigDecimal::abs);
+    decimalUnary("ceil", x -> x.setScale(0, RoundingMode.CEILING));
+    decimalUnary("floor", x -> x.setScale(0, RoundingMode.FLOOR));
+    decimalUnary("fix", x -> x.setScale(0, RoundingMode.DOWN));
+    decimalUnary("sign", x -> BigDecimal.valueOf(x.signum()));
+    decimalUnary("unaryMinus", BigDecimal::negate);
+    decimalUnary("unaryPlus", x -> x);
+
+    decimalBinary("add", BigDecimal::add);
+    decimalBinary("subtract", BigDecimal::subtract);
+    decimalBinary("multiply", BigDecimal::multiply);
+    decimalBinary("divide", BigDecimal::divide);
+    decimalBinary("pow", Functions::pow);
+    decimalBinary("mod", (x, y, context) -> mod(x, y));
+    decimalBinary("compare", (x, y, context) -> BigDecimal.valueOf(x.compareTo(y)));
+    decimalBinary("equal", (x, y, context) -> toDecimal(x.compareTo(y) == 0));
+    decimalBinary("unequal", (x, y, context) -> toDecimal(x.compareTo(y) != 0));
+    decimalBinary("larger", (x, y, context) -> toDecimal(x.compareTo(y) > 0));
+    decimalBinary("largerEq", (x, y, context) -> toDecimal(x.compareTo(y) >= 0));
+    decimalBinary("smaller", (x, y, context) -> toDecimal(x.compareTo(y) < 0));
+    decimalBinary("smallerEq", (x, y, context) -> toDecimal(x.compareTo(y) <= 0));
+
+    decimal("square", (args, scope, context) -> {
+      BigDecimal x = args[0].evaluateDecimal(scope, context);
+      return x.multiply(x, context);
+    });
+    decimal("cube", (args, scope, context) -> args[0].evaluateDecimal(scope, context).pow(3, context));
+    decimal("sqrt", (args, scope, context) -> sqrt(args[0].evaluateDecimal(scope, context), context));
+    decimal("round", (args, scope, context) -> args[0].evaluateDecimal(scope, context)
+      .setScale(args.length == 1 ? 0 : (int) checkInteger(args[1].evaluate(scope)), RoundingMode.HALF_UP));
+
+    decimal("sum", (args, scope, context) -> sum(flattenDecimal(args, scope, context), context));
+    decimal("mean", (args, scope, context) -> {
+      BigDecimal[] values = checkNotEmpty(flattenDecimal(args, scope, context));
+      return sum(values, context).divide(BigDecimal.valueOf(values.length), context);
+    });
+    decimal("min", (args, scope, context) -> Arrays.stream(checkNotEmpty(flattenDecimal(args, scope, context)))
+      .reduce(BigDecimal::min).orElseThrow(IllegalStateException::new));
+    decimal("max", (args, scope, context) -> Arrays.stream(checkNotEmpty(flattenDecimal(args, scope, context)))
+      .reduce(BigDecimal::max).orElseThrow(IllegalStateException::new));
+    decimal("median", (args, scope, context) -> {
+      BigDecimal[] values = checkNotEmpty(flattenDecimal(args, scope, context));
+      Arrays.sort(values);
+      int middle = values.length / 2;
+      if (values.length % 2 == 1) {
+        return values[middle];
+      }
+      return values[middle - 1].add(values[middle], context).divide(BigDecimal.valueOf(2), context);
+    });
+  }
+
+  /**
+   * Binary decimal operation rounded with a math context
+   */
+  @FunctionalInterface
+  private interface DecimalOperator {
+    BigDecimal apply(BigDecimal x, BigDecimal y, MathContext context);
+  }
+
+  private Functions() {
+  }
+
+  /**
+   * Get a function by its name
+   *
+   * @param name the function name
+   * @return the function or null if not supported
+   */
+  public static MathFunction get(String name) {
+    return FUNCTIONS.get(name);
+  }
+
+  /**
+   * Round a value the way mathjs does, i.e. half away from zero on the shortest decimal representation
+   *
+   * @param value    the value
+   * @param decimals the number of decimals
+   * @return the rounded value
+   */
+  public static double round(double value, int decimals) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return value;
+    }
+    return BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).doubleValue();
+  }
+
+  /**
+   * Convert a double to a decimal, on its shortest representation
+   *
+   * @param value the value
+   * @return the decimal
+   */
+  public static BigDecimal toDecimal(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException(String.format("The value %s cannot be represented as a decimal", value));
+    }
+    return BigDecimal.valueOf(value);
+  }
+
+  private static void register(MathFunction function) {
+    FUNCTIONS.put(function.getName(), function);
+  }
+
+  private static void unary(String name, DoubleUnaryOperator operator) {
+    register(new MathFunction(name, 1, 1, (args, scope) -> operator.applyAsDouble(args[0].evaluate(scope))));
+  }
+
+  private static void binary(String name, DoubleBinaryOperator operator) {
+    register(new MathFunction(name, 2, 2,
+      (args, scope) -> operator.applyAsDouble(args[0].evaluate(scope), args[1].evaluate(scope))));
+  }
+
+  /**
+   * Register a function accepting either several values or arrays, all flattened to a single list
+   */
+  private static void aggregate(String name, int minArgs, ToDoubleFunction<double[]> function) {
+    register(new MathFunction(name, minArgs, Integer.MAX_VALUE,
+      (args, scope) -> function.applyAsDouble(flatten(args, scope))));
+  }
+
+  private static void decimal(String name, MathFunction.DecimalBody body) {
+    register(FUNCTIONS.get(name).withDecimal(body));
+  }
+
+  private static void decimalUnary(String name, UnaryOperator<BigDecimal> operator) {
+    decimal(name, (args, scope, context) -> operator.apply(args[0].evaluateDecimal(scope, context)));
+  }
+
+  private static void decimalBinary(String name, DecimalOperator operator) {
+    decimal(name, (args, scope, context) ->
+      operator.apply(args[0].evaluateDecimal(scope, context), args[1].evaluateDecimal(scope, context), context));
+  }
+
+  private static BigDecimal[] flattenDecimal(Node[] args, Scope scope, MathContext context) {
+    if (args.length == 1) {
+      return args[0].evaluateDecimalValues(scope, context);
+    }
+
+    return Arrays.stream(args)
+      .flatMap(arg -> Arrays.stream(arg.evaluateDecimalValues(scope, context)))
+      .toArray(BigDecimal[]::new);
+  }
+
+  private static BigDecimal[] checkNotEmpty(BigDecimal[] values) {
+    if (values.length == 0) {
+      throw new IllegalArgumentException("values must not be empty");
+    }
+    return values;
+  }
+
+  private static BigDecimal toDecimal(boolean value) {
+    return value ? BigDecimal.ONE : BigDecimal.ZERO;
+  }
+
+  private static BigDecimal sum(BigDecimal[] values, MathContext context) {
+    BigDecimal sum = BigDecimal.ZERO;
+    for (BigDecimal value : values) {
+      sum = sum.add(value, context);
+    }
+    return sum;
+  }
+
+  /**
+   * Integer powers are exact up to the context precision, the others being computed with double precision
+   */
+  private static BigDecimal pow(BigDecimal x, BigDecimal y, MathContext context) {
+    if (y.signum() == 0 || y.stripTrailingZeros().scale() <= 0) {
+      try {
+        return x.pow(y.intValueExact(), context);
+      } catch (ArithmeticException ex) {
+        //exponent out of the int range
+      }
+    }
+    return toDecimal(Math.pow(x.doubleValue(), y.doubleValue()));
+  }
+
+  private static BigDecimal mod(BigDecimal x, BigDecimal y) {
+    if (y.signum() > 0) {
+      return x.subtract(y.multiply(x.divide(y, 0, RoundingMode.FLOOR)));
+    }
+    if (y.signum() == 0) {
+      return x;
+    }
+    throw new IllegalArgumentException("Cannot calculate mod for a negative divisor");
+  }
+
+  /**
+   * Square root by Newton iterations at the context precision
+   */
+  private static BigDecimal sqrt(BigDecimal x, MathContext context) {
+    if (x.signum() < 0) {
+      throw new IllegalArgumentException("Cannot calculate the decimal square root of a negative number");
+    }
+    if (x.signum() == 0) {
+      return BigDecimal.ZERO;
+    }
+
+    MathContext work = context.getPrecision() == 0 ? MathContext.DECIMAL128 : context;
+    BigDecimal two = BigDecimal.valueOf(2);
+    BigDecimal root = BigDecimal.valueOf(Math.sqrt(x.doubleValue()));
+    for (int i = 0; i < 100; i++) {
+      BigDecimal next = root.add(x.divide(root, work), work).divide(two, work);
+      if (next.compareTo(root) == 0) {
+        break;
+      }
+      root = next;
+    }
+    return root;
+  }
+
+  private static double[] flatten(Node[] args, Scope scope) {
+    if (args.length == 1) {
+      return args[0].evaluateValues(scope);
+    }
+
+    double[][] parts = new double[args.length][];
+    int length = 0;
+    for (int i = 0; i < args.length; i++) {
+      parts[i] = args[i].evaluateValues(scope);
+      length += parts[i].length;
+    }
+
+    double[] values = new double[length];
+    int offset = 0;
+    for (double[] part : parts) {
+      System.arraycopy(part, 0, values, offset, part.length);
+      offset += part.length;
+    }
+    return values;
+  }
+
+  private static boolean nearlyEqual(double x, double y) {
+    if (x == y) {
+      return true;
+    }
+    if (Double.isNaN(x) || Double.isNaN(y) || Double.isInfinite(x) || Double.isInfinite(y)) {
+      return false;
+    }
+    double diff = Math.abs(x - y);
+    return diff < DBL_EPSILON || diff <= Math.max(Math.abs(x), Math.abs(y)) * EPSILON;
+  }
+
+  private static double toNumber(boolean value) {
+    return value ? 1 : 0;
+  }
+
+  private static double checkInteger(double value) {
+    if (value != Math.rint(value)) {
+      throw new IllegalArgumentException(String.format("The value %s is not an integer", value));
+    }
+    return value;
+  }
+
+  private static double mod(double x, double y) {
+    if (y > 0) {
+      return x - y * Math.floor(x / y);
+    }
+    if (y == 0) {
+      return x;
+    }
+    throw new IllegalArgumentException("Cannot calculate mod for a negative divisor");
+  }
+
+  private static double combinations(double n, double k) {
+    checkInteger(n);
+    checkInteger(k);
+    if (k < 0 || k > n) {
+      throw new IllegalArgumentException("k must be between 0 and n");
+    }
+
+    double smallest = Math.min(k, n - k);
+    double result = 1;
+    for (int i = 1; i <= smallest; i++) {
+      result = result * (n - smallest + i) / i;
+    }
+    return Math.rint(result);
+  }
+
+  private static double nthRoot(double a, double root) {
+    boolean inverse = root < 0;
+    if (inverse) {
+      root = -root;
+    }
+    if (root == 0) {
+      throw new IllegalArgumentException("Root must be non-zero");
+    }
+    if (a < 0 && Math.abs(root) % 2 != 1) {
+      throw new IllegalArgumentException("Root must be odd when a is negative");
+    }
+    if (a == 0) {
+      return inverse ? Double.POSITIVE_INFINITY : 0;
+    }
+    if (Double.isInfinite(a)) {
+      return inverse ? 0 : a;
+    }
+
+    double x = Math.pow(Math.abs(a), 1 / root);
+    x = a < 0 ? -x : x;
+    return inverse ? 1 / x : x;
+  }
+
+  private static double gcd(double[] values) {
+    double result = Math.abs(checkInteger(values[0]));
+    for (int i = 1; i < values.length; i++) {
+      double b = Math.abs(checkInteger(values[i]));
+      while (b != 0) {
+        double r = result % b;
+        result = b;
+        b = r;
+      }
+    }
+    return result;
+  }
+
+  private static double lcm(double[] values) {
+    double result = Math.abs(checkInteger(values[0]));
+    for (int i = 1; i < values.length; i++) {
+      double b = Math.abs(checkInteger(values[i]));
+      if (result == 0 || b == 0) {
+        return 0;
+      }
+      result = result / gcd(new double[]{result, b}) * b;
+    }
+    return result;
+  }
+
+  private static double hypot(double[] values) {
+    double sum = 0;
+    for (double value : values) {
+      sum += value * value;
+    }
+    return Math.sqrt(sum);
+  }
+}
@@ -0,0 +1,117 @@
+package com.vedrax.math.expression;
+
+import com.vedrax.math.NumberScanner;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Scope backed by string values, as provided to {@link com.vedrax.math.MathJS}.
+ * Arrays are written as {@code [1, 2, 3]}.
+ */
+public class MapScope implements Scope {
+
+  private final Map<String, String> inputs;
+
+  public MapScope(Map<String, String> inputs) {
+    this.inputs = inputs == null ? Collections.emptyMap() : inputs;
+  }
+
+  @Override
+  public boolean contains(String name) {
+    return inputs.containsKey(name);
+  }
+
+  @Override
+  public double get(String name) {
+    String value = getValue(name);
+
+    if (isArray(value)) {
+      throw new IllegalArgumentException(String.format("The variable %s is an array", name));
+    }
+
+    return parse(name, value);
+  }
+
+  @Override
+  public double[] getValues(String name) {
+    String value = getValue(name);
+
+    if (!isArray(value)) {
+      return new double[]{parse(name, value)};
+    }
+
+    String[] items = split(value);
+    double[] values = new double[items.length];
+    for (int i = 0; i < items.length; i++) {
+      values[i] = parse(name, items[i]);
+    }
+    return values;
+  }
+
+  /**
+   * Get a scalar variable parsed as a decimal, without going through a double
+   */
+  @Override
+  public BigDecimal getDecimal(String name) {
+    String value = getValue(name);
+
+    if (isArray(value)) {
+      throw new IllegalArgumentException(String.format("The variable %s is an array", name));
+    }
+
+    return parseDecimal(name, value);
+  }
+
+  @Override
+  public BigDecimal[] getDecimalValues(String name) {
+    String value = getValue(name);
+
+    if (!isArray(value)) {
+      return new BigDecimal[]{parseDecimal(name, value)};
+    }
+
+    String[] items = split(value);
+    BigDecimal[] values = new BigDecimal[items.length];
+    for (int i = 0; i < items.length; i++) {
+      values[i] = parseDecimal(name, items[i]);
+    }
+    return values;
+  }
+
+  private String getValue(String name) {
+    String value = inputs.get(name);
+
+    if (value == null) {
+      throw new IllegalArgumentException(String.format("Undefined symbol %s", name));
+    }
+
+    return value;
+  }
+
+  private static String[] split(String value) {
+    String content = value.substring(value.indexOf('[') + 1, value.lastIndexOf(']')).trim();
+    return content.isEmpty() ? new String[0] : content.split(",");
+  }
+
+  private static boolean isArray(String value) {
+    return value.trim().startsWith("[");
+  }
+
+  private static double parse(String name, String value) {
+    String number = value.trim();
+    if (!NumberScanner.isNumber(number)) {
+      throw new IllegalArgumentException(String.format("The value %s of %s is not a valid number", value, name));
+    }
+    return NumberScanner.toDouble(number);
+  }
+
+  private static BigDecimal parseDecimal(String name, String value) {
+    try {
+      return new BigDecimal(value.trim());
+    } catch (NumberFormatException ex) {
+      throw new IllegalArgumentException(String.format("The value %s of %s is not a valid number", value, name));
+    }
+  }
+}
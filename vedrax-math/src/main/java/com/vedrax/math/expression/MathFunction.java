@@ -0,0 +1,90 @@
+package com.vedrax.math.expression;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Function available in an expression
+ */
+public class MathFunction {
+
+  /**
+   * The function implementation, receiving the unevaluated arguments
+   */
+  @FunctionalInterface
+  public interface Body {
+    double apply(Node[] args, Scope scope);
+  }
+
+  /**
+   * The decimal implementation, receiving the unevaluated arguments
+   */
+  @FunctionalInterface
+  public interface DecimalBody {
+    BigDecimal apply(Node[] args, Scope scope, MathContext context);
+  }
+
+  private final String name;
+  private final int minArgs;
+  private final int maxArgs;
+  private final Body body;
+  private final DecimalBody decimalBody;
+
+  public MathFunction(String name, int minArgs, int maxArgs, Body body) {
+    this(name, minArgs, maxArgs, body, null);
+  }
+
+  /**
+   * @param name        the function name
+   * @param minArgs     the minimum number of arguments
+   * @param maxArgs     the maximum number of arguments
+   * @param body        the double implementation
+   * @param decimalBody the decimal implementation, null to convert the double result
+   */
+  public MathFunction(String name, int minArgs, int maxArgs, Body body, DecimalBody decimalBody) {
+    this.name = name;
+    this.minArgs = minArgs;
+    this.maxArgs = maxArgs;
+    this.body = body;
+    this.decimalBody = decimalBody;
+  }
+
+  /**
+   * Get a copy of the function with a decimal implementation
+   *
+   * @param decimalBody the decimal implementation
+   * @return the function
+   */
+  public MathFunction withDecimal(DecimalBody decimalBody) {
+    return new MathFunction(name, minArgs, maxArgs, body, decimalBody);
+  }
+
+  /**
+   * Check the number of arguments of a call
+   *
+   * @param count the number of arguments
+   */
+  void checkArgs(int count) {
+    if (count < minArgs || count > maxArgs) {
+      throw new IllegalArgumentException(String.format("Wrong number of arguments for %s: %d", name, count));
+    }
+  }
+
+  double apply(Node[] args, Scope scope) {
+    return body.apply(args, scope);
+  }
+
+  /**
+   * Apply the decimal implementation, or convert the double result when the function has none
+   */
+  BigDecimal applyDecimal(Node[] args, Scope scope, MathContext context) {
+    if (decimalBody == null) {
+      return Functions.toDecimal(body.apply(args, scope));
+    }
+    return decimalBody.apply(args, scope, context);
+  }
+
+  public String getName() {
+    return name;
+  }
+}
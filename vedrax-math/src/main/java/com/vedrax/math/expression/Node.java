@@ -0,0 +1,59 @@
+package com.vedrax.math.expression;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Set;
+
+/**
+ * Node of the expression tree
+ */
+public abstract class Node {
+
+  /**
+   * Evaluate the node as a scalar
+   *
+   * @param scope the variables
+   * @return the value
+   */
+  public abstract double evaluate(Scope scope);
+
+  /**
+   * Evaluate the node as a list of values, used by the functions accepting arrays
+   *
+   * @param scope the variables
+   * @return the values
+   */
+  public double[] evaluateValues(Scope scope) {
+    return new double[]{evaluate(scope)};
+  }
+
+  /**
+   * Evaluate the node as a decimal scalar, by default converted from its double evaluation
+   *
+   * @param scope   the variables
+   * @param context the precision and rounding of the operations
+   * @return the value
+   */
+  public BigDecimal evaluateDecimal(Scope scope, MathContext context) {
+    return Functions.toDecimal(evaluate(scope));
+  }
+
+  /**
+   * Evaluate the node as a list of decimals, used by the functions accepting arrays
+   *
+   * @param scope   the variables
+   * @param context the precision and rounding of the operations
+   * @return the values
+   */
+  public BigDecimal[] evaluateDecimalValues(Scope scope, MathContext context) {
+    return new BigDecimal[]{evaluateDecimal(scope, context)};
+  }
+
+  /**
+   * Collect the variable names referenced by the node
+   *
+   * @param symbols the collected names
+   */
+  abstract void collectSymbols(Set<String> symbols);
+
+}
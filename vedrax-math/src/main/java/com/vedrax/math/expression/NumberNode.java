@@ -0,0 +1,37 @@
+package com.vedrax.math.expression;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Set;
+
+/**
+ * Numeric literal
+ */
+public class NumberNode extends Node {
+
+  private final double value;
+  private final BigDecimal decimal;
+
+  NumberNode(String text) {
+    this.decimal = new BigDecimal(text);
+    this.value = Double.parseDouble(text);
+  }
+
+  @Override
+  public double evaluate(Scope scope) {
+    return value;
+  }
+
+  /**
+   * Get the literal as written, e.g. 0.1 is exact
+   */
+  @Override
+  public BigDecimal evaluateDecimal(Scope scope, MathContext context) {
+    return decimal;
+  }
+
+  @Override
+  void collectSymbols(Set<String> symbols) {
+    //no symbol
+  }
+}
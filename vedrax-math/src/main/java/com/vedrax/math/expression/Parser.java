@@ -0,0 +1,205 @@
+package com.vedrax.math.expression;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recursive descent parser for the mathjs expression subset.
+ * <p>
+ * Precedence from lowest to highest: {@code + -}, {@code * / %}, unary {@code - +}, {@code ^}.
+ * As in mathjs, {@code ^} is right associative and binds tighter than a leading unary minus.
+ */
+class Parser {
+
+  private static final Map<String, Double> CONSTANTS = new HashMap<>();
+
+  static {
+    CONSTANTS.put("pi", Math.PI);
+    CONSTANTS.put("PI", Math.PI);
+    CONSTANTS.put("e", Math.E);
+    CONSTANTS.put("E", Math.E);
+    CONSTANTS.put("Infinity", Double.POSITIVE_INFINITY);
+    CONSTANTS.put("NaN", Double.NaN);
+  }
+
+  private final String text;
+  private int position;
+
+  Parser(String text) {
+    this.text = text;
+  }
+
+  Node parse() {
+    Node node = parseAdditive();
+    skipWhitespace();
+    if (position < text.length()) {
+      throw error("Unexpected character '" + text.charAt(position) + "'");
+    }
+    return node;
+  }
+
+  private Node parseAdditive() {
+    Node node = parseMultiplicative();
+    while (true) {
+      if (consume('+')) {
+        node = call("add", node, parseMultiplicative());
+      } else if (consume('-')) {
+        node = call("subtract", node, parseMultiplicative());
+      } else {
+        return node;
+      }
+    }
+  }
+
+  private Node parseMultiplicative() {
+    Node node = parseUnary();
+    while (true) {
+      if (consume('*')) {
+        node = call("multiply", node, parseUnary());
+      } else if (consume('/')) {
+        node = call("divide", node, parseUnary());
+      } else if (consume('%')) {
+        node = call("mod", node, parseUnary());
+      } else {
+        return node;
+      }
+    }
+  }
+
+  private Node parseUnary() {
+    if (consume('-')) {
+      return call("unaryMinus", parseUnary());
+    }
+    if (consume('+')) {
+      return call("unaryPlus", parseUnary());
+    }
+    return parsePow();
+  }
+
+  private Node parsePow() {
+    Node node = parsePrimary();
+    if (consume('^')) {
+      return call("pow", node, parseUnary());
+    }
+    return node;
+  }
+
+  private Node parsePrimary() {
+    skipWhitespace();
+    if (position >= text.length()) {
+      throw error("Unexpected end of expression");
+    }
+
+    char c = text.charAt(position);
+
+    if (consume('(')) {
+      Node node = parseAdditive();
+      expect(')');
+      return node;
+    }
+    if (consume('[')) {
+      return new ArrayNode(parseArguments(']'));
+    }
+    if (Character.isDigit(c) || c == '.') {
+      return parseNumber();
+    }
+    if (isIdentifierStart(c)) {
+      String name = parseIdentifier();
+      if (consume('(')) {
+        return call(name, parseArguments(')'));
+      }
+      return new SymbolNode(name, CONSTANTS.get(name));
+    }
+
+    throw error("Unexpected character '" + c + "'");
+  }
+
+  private Node[] parseArguments(char closing) {
+    List<Node> args = new ArrayList<>();
+    if (!consume(closing)) {
+      do {
+        args.add(parseAdditive());
+      } while (consume(','));
+      expect(closing);
+    }
+    return args.toArray(new Node[0]);
+  }
+
+  private Node parseNumber() {
+    int start = position;
+    while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+      position++;
+    }
+    if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+      int mark = position++;
+      if (position < text.length() && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+        position++;
+      }
+      if (position < text.length() && Character.isDigit(text.charAt(position))) {
+        while (position < text.length() && Character.isDigit(text.charAt(position))) {
+          position++;
+        }
+      } else {
+        position = mark;
+      }
+    }
+
+    try {
+      return new NumberNode(text.substring(start, position));
+    } catch (NumberFormatException ex) {
+      throw error("Invalid number '" + text.substring(start, position) + "'");
+    }
+  }
+
+  private String parseIdentifier() {
+    int start = position;
+    while (position < text.length() && isIdentifierPart(text.charAt(position))) {
+      position++;
+    }
+    return text.substring(start, position);
+  }
+
+  private Node call(String name, Node... args) {
+    MathFunction function = Functions.get(name);
+    if (function == null) {
+      throw error("Function " + name + " not supported");
+    }
+    function.checkArgs(args.length);
+    return new FunctionNode(function, args);
+  }
+
+  private boolean consume(char expected) {
+    skipWhitespace();
+    if (position < text.length() && text.charAt(position) == expected) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(char expected) {
+    if (!consume(expected)) {
+      throw error("'" + expected + "' expected");
+    }
+  }
+
+  private void skipWhitespace() {
+    while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+      position++;
+    }
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return Character.isLetter(c) || c == '_' || c == '$';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return isIdentifierStart(c) || Character.isDigit(c);
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(String.format("%s at position %d in expression [%s]", message, position, text));
+  }
+}
@@ -0,0 +1,59 @@
+package com.vedrax.math.expression;
+
+import java.math.BigDecimal;
+
+/**
+ * The variables available to an expression
+ */
+public interface Scope {
+
+  /**
+   * Check if a variable is defined
+   *
+   * @param name the variable name
+   * @return true when defined otherwise false
+   */
+  boolean contains(String name);
+
+  /**
+   * Get a scalar variable
+   *
+   * @param name the variable name
+   * @return the value
+   */
+  double get(String name);
+
+  /**
+   * Get a variable as a list of values, a scalar being a list of one value
+   *
+   * @param name the variable name
+   * @return the values
+   */
+  double[] getValues(String name);
+
+  /**
+   * Get a scalar variable as a decimal, converted from its double value unless overridden
+   *
+   * @param name the variable name
+   * @return the value
+   */
+  default BigDecimal getDecimal(String name) {
+    return Functions.toDecimal(get(name));
+  }
+
+  /**
+   * Get a variable as a list of decimals, converted from its double values unless overridden
+   *
+   * @param name the variable name
+   * @return the values
+   */
+  default BigDecimal[] getDecimalValues(String name) {
+    double[] values = getValues(name);
+    BigDecimal[] decimals = new BigDecimal[values.length];
+    for (int i = 0; i < values.length; i++) {
+      decimals[i] = Functions.toDecimal(values[i]);
+    }
+    return decimals;
+  }
+
+}
@@ -0,0 +1,60 @@
+package com.vedrax.math.expression;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Set;
+
+/**
+ * Variable reference, falling back to the built-in constants when not in scope
+ */
+public class SymbolNode extends Node {
+
+  private final String name;
+  private final Double constant;
+
+  SymbolNode(String name, Double constant) {
+    this.name = name;
+    this.constant = constant;
+  }
+
+  @Override
+  public double evaluate(Scope scope) {
+    if (constant != null && !scope.contains(name)) {
+      return constant;
+    }
+    return scope.get(name);
+  }
+
+  @Override
+  public double[] evaluateValues(Scope scope) {
+    if (constant != null && !scope.contains(name)) {
+      return new double[]{constant};
+    }
+    return scope.getValues(name);
+  }
+
+  @Override
+  public BigDecimal evaluateDecimal(Scope scope, MathContext context) {
+    if (constant != null && !scope.contains(name)) {
+      return Functions.toDecimal(constant);
+    }
+    return scope.getDecimal(name);
+  }
+
+  @Override
+  public BigDecimal[] evaluateDecimalValues(Scope scope, MathContext context) {
+    if (constant != null && !scope.contains(name)) {
+      return new BigDecimal[]{Functions.toDecimal(constant)};
+    }
+    return scope.getDecimalValues(name);
+  }
+
+  @Override
+  void collectSymbols(Set<String> symbols) {
+    symbols.add(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+}
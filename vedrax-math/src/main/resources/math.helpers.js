@@ -0,0 +1,75 @@
+/**
+ * Helpers called by com.vedrax.math.MathJS, loaded once per engine after math.min.js
+ */
+var vedrax = {
+
+  /**
+   * Get the names of the symbols referenced by an expression
+   */
+  symbols: function (expr) {
+    var names = [];
+    math.parse(expr).traverse(function (node) {
+      if (node.isSymbolNode && names.indexOf(node.name) < 0) {
+        names.push(node.name);
+      }
+    });
+    return Java.to(names, 'java.lang.String[]');
+  },
+
+  /**
+   * Build a scope from Java values: numbers, double arrays or source text to evaluate
+   */
+  scope: function (names, values) {
+    var scope = {};
+    for (var i = 0; i < names.length; i++) {
+      var value = values[i];
+      if (typeof value === 'number') {
+        scope[names[i]] = value;
+      } else if (typeof value === 'string') {
+        scope[names[i]] = eval('(' + value + ')');
+      } else {
+        scope[names[i]] = Java.from(value);
+      }
+    }
+    return scope;
+  },
+
+  /**
+   * Convert a result to a Java value, arrays and matrices of numbers becoming double arrays
+   */
+  toJava: function (value) {
+    if (value && value.isMatrix) {
+      value = value.valueOf();
+    }
+    if (Array.isArray(value) && value.every(function (item) {
+      return typeof item === 'number';
+    })) {
+      return Java.to(value, 'double[]');
+    }
+    return value;
+  },
+
+  /**
+   * Evaluate a compiled expression for every row, the columns being Java arrays.
+   * A row not evaluating to a number fails the whole evaluation.
+   */
+  evalRows: function (compiled, names, columns, params, rowCount) {
+    var scope = {};
+    for (var key in params) {
+      scope[key] = params[key];
+    }
+
+    var results = new (Java.type('double[]'))(rowCount);
+    for (var r = 0; r < rowCount; r++) {
+      for (var i = 0; i < names.length; i++) {
+        scope[names[i]] = columns[i][r];
+      }
+      var result = compiled.evaluate(scope);
+      if (typeof result !== 'number') {
+        throw new TypeError('Row ' + r + ' does not evaluate to a number');
+      }
+      results[r] = result;
+    }
+    return results;
+  }
+};
@@ -0,0 +1,113 @@
+package com.vedrax.math;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnarMatrixTest {
+
+  private ColumnarMatrix matrix;
+
+  @Before
+  public void setUp() {
+
+    List<Matrix> matrices = new ArrayList<>();
+
+    Matrix matrix1 = new Matrix();
+    matrix1.setKey("m1");
+    matrix1.addEntry(new NVP("n1", "1"));
+    matrix1.addEntry(new NVP("n2", "2.50"));
+    matrix1.addEntry(new NVP("n3", "3"));
+    matrices.add(matrix1);
+
+    Matrix matrix2 = new Matrix();
+    matrix2.setKey("m2");
+    matrix2.addEntry(new NVP("n1", "2"));
+    matrix2.addEntry(new NVP("n3", "4"));
+    matrices.add(matrix2);
+
+    List<NVP> params = new ArrayList<>();
+    params.add(new NVP("p1", "2"));
+
+    matrix = new ColumnarMatrix(matrices, params);
+  }
+
+  @Test
+  public void givenValidCodeAndIndex_whenGetEntry_thenReturnsNormalizedCell() {
+    assertThat(matrix.getEntry("m1", "n1")).isEqualTo("1");
+    assertThat(matrix.getEntry("m1", "n2")).isEqualTo("2.5");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenInvalidCode_whenGetEntry_thenThrowsException() {
+    matrix.getEntry("invalid", "n1");
+  }
+
+  @Test
+  public void givenMissingCell_whenGetEntry_thenReturnsNull() {
+    assertThat(matrix.getEntry("m2", "n2")).isNull();
+    assertThat(matrix.getEntry("m1", "invalid")).isNull();
+    assertThat(matrix.hasValue("m2", "n2")).isFalse();
+    assertThat(matrix.getValue("m2", "n2")).isNaN();
+  }
+
+  @Test
+  public void givenNewRow_whenAddEntry_thenRowIsInterned() {
+    matrix.addEntry("m2", "n4", "10");
+
+    assertThat(matrix.getEntry("m2", "n4")).isEqualTo("10");
+    assertThat(matrix.getValue("m2", "n4")).isEqualTo(10.0);
+    assertThat(matrix.getRowKeys()).containsExactly("n1", "n2", "n3", "n4");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void givenInvalidNumber_whenAddEntry_thenThrowsException() {
+    matrix.addEntry("m1", "n1", "abc");
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void givenNoCode_whenAddEntry_thenThrowsException() {
+    matrix.addEntry(null, "n1", "10");
+  }
+
+  @Test
+  public void givenValidCode_whenGetColumn_thenReturnsPresentCells() {
+    Map<String, String> values = matrix.getColumn("m2");
+
+    assertThat(values).containsOnlyKeys("n1", "n3");
+    assertThat(matrix.getColumnValues("m1")).containsExactly("1", "2.5", "3");
+    assertThat(matrix.getColumnArray("m2")).containsExactly(2.0, 4.0);
+  }
+
+  @Test
+  public void givenManyRows_whenSetValue_thenColumnGrows() {
+    for (int i = 0; i < 1000; i++) {
+      matrix.setValue("m3", "r" + i, i);
+    }
+
+    assertThat(matrix.getColumnArray("m3")).hasSize(1000);
+    assertThat(matrix.getValue("m3", "r999")).isEqualTo(999.0);
+    assertThat(matrix.getColumnKeys()).containsExactly("m1", "m2", "m3");
+  }
+
+  @Test
+  public void givenColumnarMatrix_whenEvalOverRows_thenSkipsMissingCells() {
+    Map<String, String> result = new NativeEvaluator().evalOverRows("m1 * m2 + p1", matrix);
+
+    assertThat(result).containsOnlyKeys("n1", "n3");
+    assertThat(result.get("n3")).isEqualTo("14.0");
+  }
+
+  @Test
+  public void givenParam_whenGetParam_thenReturnsValue() {
+    assertThat(matrix.getParam("p1")).isEqualTo("2");
+    assertThat(new ColumnarMatrix(Collections.emptyList(), Collections.emptyList()).getRowKeys()).isEmpty();
+  }
+
+}
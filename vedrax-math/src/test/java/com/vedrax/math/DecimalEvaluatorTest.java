@@ -0,0 +1,75 @@
+package com.vedrax.math;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DecimalEvaluatorTest {
+
+  private final DecimalEvaluator evaluator = new DecimalEvaluator();
+
+  @Test
+  public void givenDecimalInputs_whenEvalDecimal_thenNoPrecisionLoss() {
+    Map<String, String> scope = new HashMap<>();
+    scope.put("a", "0.1");
+    scope.put("b", "0.2");
+
+    assertThat(evaluator.evalDecimal("a + b", scope)).isEqualByComparingTo("0.3");
+    assertThat(evaluator.evalDecimal("a + b", scope).scale()).isEqualTo(DecimalEvaluator.DEFAULT_SCALE);
+    assertThat(evaluator.eval("(a + b) * 3 - 0.9", scope)).isEqualTo("0.00000");
+  }
+
+  @Test
+  public void givenFinancialContext_whenEvalDecimal_thenRoundedToScale() {
+    DecimalEvaluator money = DecimalEvaluator.of(34, 2, RoundingMode.HALF_UP);
+
+    Map<String, String> scope = new HashMap<>();
+    scope.put("price", "19.99");
+    scope.put("quantity", "3");
+    scope.put("rate", "0.055");
+
+    assertThat(money.evalDecimal("price * quantity * (1 + rate)", scope)).isEqualTo(new BigDecimal("63.27"));
+    assertThat(money.evalDecimal("1 / 3", scope)).isEqualTo(new BigDecimal("0.33"));
+    assertThat(DecimalEvaluator.of(34, 2, RoundingMode.HALF_UP)).isSameAs(money);
+  }
+
+  @Test
+  public void givenFunctions_whenEvalDecimal_thenComputedWithDecimals() {
+    DecimalEvaluator precise = new DecimalEvaluator(MathContext.DECIMAL128, 20);
+
+    Map<String, String> scope = Collections.singletonMap("values", "[1.1, 2.2, 3.3, 10]");
+
+    assertThat(precise.evalDecimal("sqrt(2)", scope)).isEqualTo(new BigDecimal("1.41421356237309504880"));
+    assertThat(precise.evalDecimal("sum(values) + max(values) - median(values)", scope)).isEqualByComparingTo("23.85");
+    assertThat(precise.evalDecimal("mod(-7.5, 2) + 2^10 + round(2.345, 2)", scope)).isEqualByComparingTo("1026.85");
+    assertThat(evaluator.evalDecimal("log(100, 10)", scope)).isEqualByComparingTo("2");
+  }
+
+  @Test
+  public void givenMatrix_whenEvalOverRows_thenDecimalColumn() {
+    Matrix a = new Matrix();
+    a.setKey("A");
+    a.addEntry(new NVP("n1", "0.1"));
+    a.addEntry(new NVP("n2", "0.7"));
+
+    DimMatrix matrix = new DimMatrix(Collections.singletonList(a), Collections.singletonList(new NVP("p", "0.2")));
+
+    Map<String, String> results = DecimalEvaluator.of(16, 2, RoundingMode.HALF_UP).evalOverRows("A + p", matrix);
+
+    assertThat(results).containsEntry("n1", "0.30").containsEntry("n2", "0.90");
+  }
+
+  @Test
+  public void givenDivisionByZero_whenEvalDecimal_thenThrowsException() {
+    assertThatThrownBy(() -> evaluator.evalDecimal("1 / 0", Collections.emptyMap()))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("1 / 0");
+  }
+
+}
@@ -101,4 +101,54 @@ public class DimMatrixTest {
     assertThat(values).hasSize(3);
   }
 
+  @Test
+  public void givenNoTracking_whenAddEntry_thenNoDirtyState() {
+    matrix.addEntry("m1", "n2", "5");
+    matrix.addEntry("m4", "n1", "7");
+
+    assertThat(matrix.isTracking()).isFalse();
+    assertThat(matrix.getDirtyColumns()).isEmpty();
+
+    matrix.setTracking(true);
+    matrix.addEntry("m1", "n3", "8");
+
+    assertThat(matrix.getDirtyColumns()).containsOnly("m1");
+    assertThat(matrix.getDirtyRows("m1")).containsOnly("n3");
+
+    matrix.setTracking(false);
+
+    assertThat(matrix.getDirtyColumns()).isEmpty();
+  }
+
+  @Test
+  public void givenListener_whenAddEntry_thenNotifiedAndMarkedDirty() {
+    List<String> changes = new ArrayList<>();
+    matrix.addListener((column, row, oldValue, newValue) -> changes.add(column + "." + row + ":" + oldValue + "->" + newValue));
+
+    matrix.addEntry("m1", "n2", "5");
+    matrix.addEntry("m4", "n1", "7");
+
+    assertThat(changes).containsExactly("m1.n2:2->5", "m4.n1:null->7");
+    assertThat(matrix.getDirtyColumns()).containsOnly("m1", "m4");
+    assertThat(matrix.getDirtyRows("m1")).containsOnly("n2");
+
+    matrix.clearDirty();
+
+    assertThat(matrix.getDirtyColumns()).isEmpty();
+    assertThat(matrix.getDirtyRows("m1")).isEmpty();
+  }
+
+  @Test
+  public void givenValidCode_whenAggregate_thenComputedFromPrimitiveValues() {
+    assertThat(matrix.getColumnArray("m2")).containsExactlyInAnyOrder(2.0, 3.0, 4.0);
+    assertThat(matrix.sum("m2")).isEqualTo(9.0);
+    assertThat(matrix.mean("m2")).isEqualTo(3.0);
+    assertThat(matrix.min("m3")).isEqualTo(1.0);
+    assertThat(matrix.max("m3")).isEqualTo(2.0);
+    assertThat(matrix.variance("m2")).isEqualTo(1.0);
+    assertThat(matrix.median("m1")).isEqualTo(2.0);
+    assertThat(matrix.mad("m3")).isEqualTo(0.0);
+    assertThat(matrix.percentile("m1", 0.75)).isEqualTo(2.5);
+  }
+
 }
@@ -0,0 +1,102 @@
+package com.vedrax.math;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FormulaEngineTest {
+
+  private DimMatrix matrix;
+  private FormulaEngine engine;
+
+  @Before
+  public void setUp() {
+    List<Matrix> matrices = new ArrayList<>();
+
+    Matrix a = new Matrix();
+    a.setKey("A");
+    a.addEntry(new NVP("n1", "1"));
+    a.addEntry(new NVP("n2", "2"));
+    matrices.add(a);
+
+    Matrix b = new Matrix();
+    b.setKey("B");
+    b.addEntry(new NVP("n1", "10"));
+    b.addEntry(new NVP("n2", "20"));
+    matrices.add(b);
+
+    matrix = new DimMatrix(matrices, new ArrayList<>());
+
+    engine = new FormulaEngine(new NativeEvaluator(), new ForkJoinPool(2))
+      .define("D", "C * 2")
+      .define("C", "A + B")
+      .define("E", "max(A, 1.5) * 10")
+      .define("F", "B * 3");
+  }
+
+  @Test
+  public void givenDependentFormulas_whenGetSchedule_thenOrderedByLevel() {
+    assertThat(engine.getDependencies("D")).containsExactly("C");
+    assertThat(engine.getDependencies("E")).isEmpty();
+    assertThat(engine.getSchedule()).containsExactly(Arrays.asList("C", "E", "F"), Arrays.asList("D"));
+  }
+
+  @Test
+  public void givenDependentFormulas_whenEvaluate_thenAllColumnsComputed() {
+    engine.evaluate(matrix);
+
+    assertThat(matrix.getEntry("C", "n2")).isEqualTo("22.0");
+    assertThat(matrix.getEntry("D", "n2")).isEqualTo("44.0");
+    assertThat(matrix.getEntry("E", "n1")).isEqualTo("15.0");
+    assertThat(matrix.getEntry("F", "n1")).isEqualTo("30.0");
+  }
+
+  @Test
+  public void givenChangedInput_whenRecompute_thenOnlyDownstreamColumnsUpdated() {
+    engine.evaluate(matrix);
+    matrix.addEntry("F", "n1", "0");
+
+    matrix.addEntry("A", "n1", "5");
+    engine.recompute(matrix, "A");
+
+    assertThat(engine.getDownstream("A")).containsOnly("C", "D", "E");
+    assertThat(matrix.getEntry("C", "n1")).isEqualTo("15.0");
+    assertThat(matrix.getEntry("D", "n1")).isEqualTo("30.0");
+    assertThat(matrix.getEntry("E", "n1")).isEqualTo("50.0");
+    assertThat(matrix.getEntry("F", "n1")).isEqualTo("0");
+  }
+
+  @Test
+  public void givenDirtyEntry_whenRecomputeDirty_thenOnlyChangedRowsUpdated() {
+    matrix.setTracking(true);
+    engine.evaluate(matrix);
+    matrix.addEntry("C", "n2", "0");
+    matrix.clearDirty();
+
+    matrix.addEntry("B", "n1", "30");
+    engine.recomputeDirty(matrix);
+
+    assertThat(matrix.getEntry("C", "n1")).isEqualTo("31.0");
+    assertThat(matrix.getEntry("D", "n1")).isEqualTo("62.0");
+    assertThat(matrix.getEntry("F", "n1")).isEqualTo("90.0");
+    assertThat(matrix.getEntry("C", "n2")).isEqualTo("0");
+    assertThat(matrix.getDirtyColumns()).isEmpty();
+  }
+
+  @Test
+  public void givenCyclicFormulas_whenGetSchedule_thenThrowsException() {
+    engine.define("C", "D + A");
+
+    assertThatThrownBy(() -> engine.getSchedule())
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageContaining("Cyclic");
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.vedrax.math;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MathJSPoolTest {
+
+  private static MathJSPool pool;
+
+  @BeforeClass
+  public static void setUp() {
+    pool = new MathJSPool(2);
+  }
+
+  @Test
+  public void givenWarmedPool_whenCreated_thenAllEnginesAvailable() {
+    assertThat(pool.getSize()).isEqualTo(2);
+    assertThat(pool.getAvailable()).isEqualTo(2);
+  }
+
+  @Test
+  public void givenConcurrentCallers_whenEval_thenGetResults() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        final int value = i;
+        results.add(executor.submit(() -> {
+          Map<String, String> scope = new HashMap<>();
+          scope.put("a", String.valueOf(value));
+          return pool.eval("a*2", scope);
+        }));
+      }
+
+      for (int i = 0; i < 8; i++) {
+        assertThat(results.get(i).get()).isEqualTo(String.valueOf(i * 2.0));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(pool.getAvailable()).isEqualTo(2);
+    assertThat(pool.getMetrics().getBorrowCount()).isGreaterThanOrEqualTo(8);
+  }
+
+  @Test
+  public void givenExhaustedPool_whenBorrowWithTimeout_thenThrowsException() {
+    MathJS first = pool.borrow();
+    MathJS second = pool.borrow();
+    try {
+      assertThatThrownBy(() -> pool.borrow(10, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalStateException.class);
+      assertThat(pool.getMetrics().getTimeoutCount()).isGreaterThanOrEqualTo(1);
+    } finally {
+      pool.release(first);
+      pool.release(second);
+    }
+
+    assertThat(pool.getAvailable()).isEqualTo(2);
+  }
+
+  @Test
+  public void givenReleasedEngine_whenReleaseAgain_thenThrowsException() {
+    MathJS engine = pool.borrow();
+    pool.release(engine);
+
+    assertThatThrownBy(() -> pool.release(engine))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("not borrowed");
+    assertThat(pool.getAvailable()).isEqualTo(2);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void givenNoEngine_whenRelease_thenThrowsException() {
+    pool.release(null);
+  }
+
+}
@@ -4,10 +4,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class MathJSTest {
 
@@ -34,6 +36,32 @@ public class MathJSTest {
     result = mathJS.eval("sum(a)", scope);
 
     assertThat(result).isEqualTo("6.0");
+
+    scope.put("a", "[[1, 2], [3, -4.5]]");
+    scope.put("b", "0x10");
+
+    assertThat(mathJS.eval("sum(a) + b", scope)).isEqualTo("17.5");
+  }
+
+  @Test
+  public void givenCompiledExpression_whenEvalWithNewScope_thenGetResult() {
+
+    MathJS mathJS = new MathJS(1);
+
+    Map<String, String> scope = new HashMap<>();
+    scope.put("a", "2");
+
+    assertThat(mathJS.eval("a^2", scope)).isEqualTo("4.0");
+    assertThat(mathJS.eval("a/3", scope)).isEqualTo("0.66667");
+
+    scope.put("a", "3");
+
+    assertThat(mathJS.eval("a^2", scope)).isEqualTo("9.0");
+    assertThat(mathJS.evalNumber("a^2 / 2", scope)).isEqualTo(4.5);
+    assertThat(mathJS.evalArray("[a, 1/3] * 2", scope)).containsExactly(6.0, 0.66667);
+    assertThat(mathJS.eval("[a, 1/3] * 2", scope)).isEqualTo("[6.0,0.66667]");
+    assertThat(mathJS.evalResult("a", scope).isNumber()).isTrue();
+    assertThatThrownBy(() -> mathJS.eval("a +* 2", scope)).isInstanceOf(IllegalArgumentException.class);
   }
 
   @Test
@@ -43,6 +71,20 @@ public class MathJSTest {
     mathJS.eval("1+1", null);
   }
 
+  @Test
+  public void givenNonNumberRows_whenEvalOverRows_thenThrowsException() {
+    MathJS mathJS = new MathJS();
+
+    Matrix column = new Matrix();
+    column.setKey("m1");
+    column.addEntry(new NVP("n1", "1"));
+    column.addEntry(new NVP("n2", "2"));
+    DimMatrix matrix = new DimMatrix(Collections.singletonList(column), Collections.emptyList());
+
+    assertThat(mathJS.evalOverRows("m1 * 2", matrix)).containsEntry("n2", "4.0");
+    assertThatThrownBy(() -> mathJS.evalOverRows("[m1, m1]", matrix)).isInstanceOf(IllegalArgumentException.class);
+  }
+
   @Test(expected = NullPointerException.class)
   public void givenNoEvaluation_whenEval_thenThrowsException() {
     MathJS mathJS = new MathJS();
@@ -0,0 +1,144 @@
+package com.vedrax.math;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MatrixEvaluationServiceTest {
+
+  private static final int PARALLELISM = 3;
+
+  private final AtomicInteger created = new AtomicInteger();
+  private MatrixEvaluationService service;
+
+  @Before
+  public void setUp() {
+    service = new MatrixEvaluationService(() -> {
+      created.incrementAndGet();
+      return new NativeEvaluator();
+    }, PARALLELISM);
+  }
+
+  @After
+  public void tearDown() {
+    service.close();
+  }
+
+  @Test
+  public void givenJobs_whenEvaluateAll_thenEveryResultStreamed() {
+    Map<String, String> formulas = new LinkedHashMap<>();
+    formulas.put("C", "A + B");
+    formulas.put("D", "C * 2");
+
+    List<EvaluationJob> jobs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      jobs.add(new EvaluationJob("job" + i, matrix(i), formulas));
+    }
+    jobs.add(new EvaluationJob("cyclic", matrix(0), Collections.singletonMap("A", "A + 1")));
+
+    Map<String, EvaluationResult> results = service.evaluateAll(jobs)
+      .collect(Collectors.toMap(EvaluationResult::getId, result -> result));
+
+    assertThat(results).hasSize(21);
+    assertThat(results.get("job5").isSuccess()).isTrue();
+    assertThat(results.get("job5").getMatrix().getEntry("D", "n1")).isEqualTo("30.0");
+    assertThat(results.get("cyclic").getError()).isInstanceOf(IllegalStateException.class);
+
+    EvaluationMetrics metrics = service.getMetrics();
+    assertThat(metrics.getSubmittedCount()).isEqualTo(21);
+    assertThat(metrics.getCompletedCount()).isEqualTo(21);
+    assertThat(metrics.getFailedCount()).isEqualTo(1);
+    assertThat(metrics.getQueueDepth()).isZero();
+    assertThat(created.get()).isBetween(1, PARALLELISM);
+  }
+
+  @Test
+  public void givenSharedExecutor_whenClose_thenEvaluatorsReleased() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MatrixEvaluationService shared = new MatrixEvaluationService(NativeEvaluator::new, executor);
+      shared.evaluateAll(Arrays.asList(
+        new EvaluationJob("job1", matrix(1), Collections.singletonMap("C", "A + B")),
+        new EvaluationJob("job2", matrix(2), Collections.singletonMap("C", "A + B")))).count();
+
+      assertThat(shared.getIdleEvaluators()).isBetween(1, 2);
+
+      shared.close();
+
+      assertThat(shared.getIdleEvaluators()).isZero();
+      assertThat(executor.isShutdown()).isFalse();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void givenEvaluatorError_whenSubmit_thenEndRecorded() {
+    MatrixEvaluationService failing = new MatrixEvaluationService(() -> new Evaluator() {
+      @Override
+      public String eval(String expr, Map<String, String> inputs) {
+        throw new StackOverflowError();
+      }
+
+      @Override
+      public Map<String, String> evalOverRows(String expr, IMatrix matrix) {
+        throw new StackOverflowError();
+      }
+    }, 1);
+    try {
+      CompletableFuture<EvaluationResult> result = failing.submit(new EvaluationJob("job", matrix(1), Collections.singletonMap("C", "A + B")));
+
+      assertThatThrownBy(result::join).hasCauseInstanceOf(StackOverflowError.class);
+      assertThat(failing.getMetrics().getActiveCount()).isZero();
+      assertThat(failing.getMetrics().getFailedCount()).isEqualTo(1);
+    } finally {
+      failing.close();
+    }
+  }
+
+  @Test
+  public void givenClosedService_whenSubmit_thenRejectedWithoutQueueing() {
+    service.close();
+
+    assertThatThrownBy(() -> service.submit(new EvaluationJob("job", matrix(1), Collections.singletonMap("C", "A + B"))))
+      .isInstanceOf(IllegalStateException.class);
+    assertThat(service.getMetrics().getSubmittedCount()).isZero();
+    assertThat(service.getMetrics().getQueueDepth()).isZero();
+  }
+
+  @Test
+  public void givenShutdownExecutor_whenSubmit_thenQueueRolledBack() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    executor.shutdown();
+    MatrixEvaluationService shared = new MatrixEvaluationService(NativeEvaluator::new, executor);
+
+    assertThatThrownBy(() -> shared.submit(new EvaluationJob("job", matrix(1), Collections.singletonMap("C", "A + B"))))
+      .isInstanceOf(RejectedExecutionException.class);
+    assertThat(shared.getMetrics().getSubmittedCount()).isZero();
+    assertThat(shared.getMetrics().getQueueDepth()).isZero();
+  }
+
+  private static DimMatrix matrix(int value) {
+    Matrix a = new Matrix();
+    a.setKey("A");
+    a.addEntry(new NVP("n1", String.valueOf(value)));
+
+    Matrix b = new Matrix();
+    b.setKey("B");
+    b.addEntry(new NVP("n1", "10"));
+
+    return new DimMatrix(Arrays.asList(a, b), new ArrayList<>());
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.vedrax.math;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MatrixIOTest {
+
+  private static final String CSV = "row,A,B\nn1,1,10\nn2,2.5,\nn3,3,30\n";
+
+  @Test
+  public void givenCsv_whenReadCsv_thenEntriesLoaded() {
+    ColumnarMatrix matrix = MatrixIO.readCsv(new StringReader(CSV), new ColumnarMatrix());
+
+    assertThat(matrix.getRowKeys()).containsExactly("n1", "n2", "n3");
+    assertThat(matrix.getColumnArray("A")).containsExactly(1.0, 2.5, 3.0);
+    assertThat(matrix.hasValue("B", "n2")).isFalse();
+  }
+
+  @Test
+  public void givenMatrix_whenWriteCsv_thenReadBackIdentical() {
+    ColumnarMatrix matrix = MatrixIO.readCsv(new StringReader(CSV), new ColumnarMatrix());
+
+    StringWriter writer = new StringWriter();
+    MatrixIO.writeCsv(matrix, writer);
+
+    assertThat(writer.toString()).isEqualTo(CSV);
+  }
+
+  @Test
+  public void givenJson_whenReadJson_thenEntriesLoaded() {
+    String json = "[{\"key\":\"A\",\"visible\":true,\"entries\":[{\"key\":\"n1\",\"value\":\"1\"},{\"key\":\"n2\",\"value\":2}]},"
+      + "{\"entries\":[{\"key\":\"n1\",\"value\":\"5\"}],\"key\":\"B\"}]";
+
+    DimMatrix matrix = MatrixIO.readJson(new StringReader(json), new DimMatrix());
+
+    assertThat(matrix.getEntry("A", "n2")).isEqualTo("2");
+    assertThat(matrix.getEntry("B", "n1")).isEqualTo("5");
+    assertThat(matrix.getRowKeys()).containsOnly("n1", "n2");
+  }
+
+  @Test
+  public void givenMatrix_whenWriteJson_thenReadBackIdentical() {
+    DimMatrix matrix = MatrixIO.readCsv(new StringReader(CSV), new DimMatrix());
+
+    StringWriter writer = new StringWriter();
+    MatrixIO.writeJson(matrix, writer);
+    DimMatrix copy = MatrixIO.readJson(new StringReader(writer.toString()), new DimMatrix());
+
+    assertThat(copy.getColumnKeys()).containsOnly("A", "B");
+    assertThat(copy.getColumn("A")).isEqualTo(matrix.getColumn("A"));
+    assertThat(copy.getColumn("B")).isEqualTo(matrix.getColumn("B"));
+  }
+
+  @Test
+  public void givenInvalidValue_whenReadCsv_thenThrowsException() {
+    assertThatThrownBy(() -> MatrixIO.readCsv(new StringReader("row,A\nn1,abc\n"), new DimMatrix()))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
@@ -0,0 +1,92 @@
+package com.vedrax.math;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.junit.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MatrixLoaderTest {
+
+  @Test
+  public void givenValues_whenIsNumber_thenPlainDecimalsScannedAndOthersDelegated() {
+    assertThat(NumberScanner.isDecimal("-12")).isTrue();
+    assertThat(NumberScanner.isDecimal("3.50")).isTrue();
+    assertThat(NumberScanner.isDecimal(".5")).isTrue();
+    assertThat(NumberScanner.isDecimal("1.2E-3")).isTrue();
+    assertThat(NumberScanner.isDecimal("1e")).isFalse();
+    assertThat(NumberScanner.isDecimal("-")).isFalse();
+    assertThat(NumberScanner.isDecimal("1.2.3")).isFalse();
+    assertThat(NumberScanner.isDecimal("0x1F")).isFalse();
+    assertThat(NumberScanner.isNumber("0x1F")).isTrue();
+    assertThat(NumberScanner.isNumber("abc")).isFalse();
+    assertThat(NumberScanner.isDecimal("0.5")).isTrue();
+    assertThat(NumberScanner.isDecimal("-0e3")).isTrue();
+    assertThat(NumberScanner.isDecimal("09")).isFalse();
+    assertThat(NumberScanner.isNumber("09")).isFalse();
+    assertThat(NumberScanner.isNumber("07")).isEqualTo(NumberUtils.isCreatable("07"));
+  }
+
+  @Test
+  public void givenEntries_whenLoadDimMatrix_thenEntriesAndRowsStored() {
+    DimMatrix matrix = new DimMatrix();
+
+    long count = MatrixLoader.load(matrix, Stream.of(
+      new MatrixEntry("A", "n1", "1"),
+      new MatrixEntry("A", "n2", "2.5"),
+      new MatrixEntry("B", "n1", "3")));
+
+    assertThat(count).isEqualTo(3);
+    assertThat(matrix.getEntry("A", "n2")).isEqualTo("2.5");
+    assertThat(matrix.getRowKeys()).containsOnly("n1", "n2");
+    assertThat(matrix.getDirtyColumns()).isEmpty();
+  }
+
+  @Test
+  public void givenEntries_whenLoadColumnarMatrix_thenParsedValuesStored() {
+    ColumnarMatrix matrix = new ColumnarMatrix();
+
+    MatrixLoader.load(matrix, Stream.of(new MatrixEntry("A", "n1", "1.50"), new MatrixEntry("A", "n2", "-2")));
+
+    assertThat(matrix.getColumnArray("A")).containsExactly(1.5, -2.0);
+  }
+
+  @Test
+  public void givenRunningStatistics_whenLoad_thenStatisticsUpdated() {
+    for (ObservableMatrix matrix : new ObservableMatrix[]{new DimMatrix(), new ColumnarMatrix()}) {
+      matrix.addEntry("A", "n1", "1");
+      RunningStatistics statistics = new RunningStatistics(matrix, "A");
+
+      MatrixLoader.load(matrix, Stream.of(
+        new MatrixEntry("A", "n1", "4"),
+        new MatrixEntry("A", "n2", "0x10"),
+        new MatrixEntry("B", "n1", "100")));
+
+      assertThat(statistics.getCount()).isEqualTo(2);
+      assertThat(statistics.getSum()).isEqualTo(20.0);
+      assertThat(matrix.getDirtyColumns()).isEmpty();
+    }
+  }
+
+  @Test
+  public void givenTracking_whenLoad_thenLoadedRowsDirty() {
+    for (ObservableMatrix matrix : new ObservableMatrix[]{new DimMatrix(), new ColumnarMatrix()}) {
+      matrix.setTracking(true);
+
+      MatrixLoader.load(matrix, Stream.of(new MatrixEntry("A", "n1", "4"), new MatrixEntry("A", "n2", "5")));
+
+      assertThat(matrix.getDirtyColumns()).containsExactly("A");
+      assertThat(matrix.getDirtyRows("A")).containsExactly("n1", "n2");
+    }
+  }
+
+  @Test
+  public void givenInvalidValue_whenLoad_thenThrowsException() {
+    assertThatThrownBy(() -> MatrixLoader.load(new DimMatrix(), Stream.of(new MatrixEntry("A", "n1", "1,5"))))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("1,5");
+  }
+
+}
@@ -0,0 +1,172 @@
+package com.vedrax.math;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Differential tests checking that the native evaluator returns the same results as MathJS
+ */
+public class NativeEvaluatorTest {
+
+  private static final String[] EXPRESSIONS = {
+    "1+1",
+    "sum(a,b)*2",
+    "a / 3",
+    "-b^2",
+    "2^-1",
+    "2^3^2",
+    "(a + b) * c - d / 7",
+    "a % 3",
+    "-c % 4",
+    "abs(d) + unaryMinus(a) + unaryPlus(b)",
+    "pow(c, 1.5)",
+    "log(b)",
+    "log(b, 2)",
+    "log10(1000)",
+    "log2(c)",
+    "log1p(a)",
+    "exp(a) - expm1(a)",
+    "sqrt(c) + cbrt(27) + square(b) + cube(a)",
+    "ceil(d / 7) + floor(d / 7) + fix(-d / 7)",
+    "round(d / 7) + round(d / 7, 2)",
+    "round(2.5) + round(-2.5)",
+    "sign(d) + sign(-d)",
+    "add(a, b) - subtract(a, b) + multiply(c, 2) / divide(c, 3)",
+    "mod(d, 4)",
+    "gcd(12, 18) + lcm(4, 6)",
+    "hypot(3, 4) + norm(-5)",
+    "nthRoot(27, 3) + nthRoot(-8, 3) + nthRoot(16)",
+    "combinations(7, 5)",
+    "compare(a, b) + compare(b, a) + compare(a, a)",
+    "equal(a, 1) + unequal(a, 1) + larger(b, a) + largerEq(a, a) + smallerEq(a, b)",
+    "sum(values)",
+    "mean(values)",
+    "min(values) + max(values)",
+    "mean(1, 2, 3, 4)",
+    "max([a, b, c])",
+    "sum(values) / mean(even) * pi",
+    "1.5e2 + .5",
+    "1/3 + 1/7",
+    "0.123456789",
+    "123456.789012345"
+  };
+
+  private static MathJS mathJS;
+  private static NativeEvaluator nativeEvaluator;
+  private static Map<String, String> scope;
+
+  @BeforeClass
+  public static void setUp() {
+    mathJS = new MathJS();
+    nativeEvaluator = new NativeEvaluator();
+
+    scope = new HashMap<>();
+    scope.put("a", "1");
+    scope.put("b", "3");
+    scope.put("c", "4.5");
+    scope.put("d", "-17");
+    scope.put("values", "[1.2, 3.4, -2.5, 8, 0.3]");
+    scope.put("even", "[4, 1, 3, 2]");
+  }
+
+  @Test
+  public void givenSupportedExpressions_whenEval_thenSameResultAsMathJS() {
+    for (String expression : EXPRESSIONS) {
+      assertThat(nativeEvaluator.eval(expression, scope))
+        .as(expression)
+        .isEqualTo(mathJS.eval(expression, scope));
+    }
+  }
+
+  @Test
+  public void givenDispersionFunctions_whenEval_thenGetResult() {
+    //median, mad, std and variance rely on Number.isNaN which Nashorn does not provide,
+    //so MathJS cannot be used as reference
+    assertThat(nativeEvaluator.eval("variance(values)", scope)).isEqualTo("15.427");
+    assertThat(nativeEvaluator.eval("std(values)", scope)).isEqualTo("3.92772");
+    assertThat(nativeEvaluator.eval("median(values)", scope)).isEqualTo("1.2");
+    assertThat(nativeEvaluator.eval("median(even)", scope)).isEqualTo("2.5");
+    assertThat(nativeEvaluator.eval("mad(values)", scope)).isEqualTo("2.2");
+    assertThat(nativeEvaluator.eval("variance([a]) + std([a])", scope)).isEqualTo("0.0");
+  }
+
+  @Test
+  public void givenQualifiedNumbersInScope_whenEval_thenParsedAsMatrixValues() {
+    Map<String, String> qualified = new HashMap<>();
+    qualified.put("h", "0x10");
+    qualified.put("f", "2.5f");
+    qualified.put("values", "[0x10, 1L]");
+
+    assertThat(nativeEvaluator.eval("h * f + sum(values)", qualified)).isEqualTo("57.0");
+    assertThatThrownBy(() -> nativeEvaluator.eval("h * 2", Collections.singletonMap("h", "1,5")))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void givenMatrix_whenEvalOverRows_thenSameResultAsMathJS() {
+    List<Matrix> matrices = new ArrayList<>();
+    matrices.add(column("m1", "1", "2", "3"));
+    matrices.add(column("m2", "2.5", "3", "-4"));
+
+    DimMatrix matrix = new DimMatrix(matrices, Collections.singletonList(new NVP("p1", "3")));
+    matrix.addEntry("m3", "n1", "7");
+
+    String expression = "m1 * p1 + m2 / 3";
+    Map<String, String> expected = mathJS.evalOverRows(expression, matrix);
+
+    assertThat(expected).hasSize(3).containsEntry("n1", "3.83333").containsEntry("n3", "7.66667");
+    assertThat(nativeEvaluator.evalOverRows(expression, matrix)).isEqualTo(expected);
+
+    //rows missing a value in m3 are left out
+    assertThat(nativeEvaluator.evalOverRows("m1 + m3", matrix)).containsOnlyKeys("n1");
+    assertThat(mathJS.evalOverRows("m1 + m3", matrix)).containsOnlyKeys("n1");
+  }
+
+  @Test
+  public void givenQualifiedNumbers_whenEvalOverRows_thenParsedAsMatrixValues() {
+    DimMatrix matrix = new DimMatrix(Collections.singletonList(column("m1", "0x1F", "1L", "2.5f")), Collections.emptyList());
+
+    assertThat(nativeEvaluator.evalOverRows("m1 * 2", matrix))
+      .containsEntry("n1", "62.0")
+      .containsEntry("n2", "2.0")
+      .containsEntry("n3", "5.0");
+  }
+
+  private static Matrix column(String key, String... values) {
+    Matrix matrix = new Matrix();
+    matrix.setKey(key);
+    for (int i = 0; i < values.length; i++) {
+      matrix.addEntry(new NVP("n" + (i + 1), values[i]));
+    }
+    return matrix;
+  }
+
+  @Test
+  public void givenEvaluationWithoutScope_whenEval_thenGetResult() {
+    assertThat(nativeEvaluator.eval("1+1", null)).isEqualTo("2.0");
+    assertThat(nativeEvaluator.evalNumber("1/3", null)).isEqualTo(0.33333);
+  }
+
+  @Test
+  public void givenCompiledExpression_whenGetSymbols_thenReturnsVariables() {
+    assertThat(nativeEvaluator.compile("sum(a, b) * c + pi").getSymbols()).containsExactly("a", "b", "c", "pi");
+  }
+
+  @Test
+  public void givenInvalidExpression_whenEval_thenThrowsException() {
+    assertThatThrownBy(() -> nativeEvaluator.eval("a +* 2", scope)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> nativeEvaluator.eval("unknown(a)", scope)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> nativeEvaluator.eval("z + 1", scope)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void givenNoEvaluation_whenEval_thenThrowsException() {
+    nativeEvaluator.eval(null, null);
+  }
+
+}
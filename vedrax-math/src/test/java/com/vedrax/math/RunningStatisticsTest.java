@@ -0,0 +1,74 @@
+package com.vedrax.math;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class RunningStatisticsTest {
+
+  private DimMatrix matrix;
+  private RunningStatistics statistics;
+
+  @Before
+  public void setUp() {
+    List<Matrix> matrices = new ArrayList<>();
+
+    Matrix a = new Matrix();
+    a.setKey("A");
+    a.addEntry(new NVP("n1", "1"));
+    a.addEntry(new NVP("n2", "2"));
+    a.addEntry(new NVP("n3", "6"));
+    matrices.add(a);
+
+    matrix = new DimMatrix(matrices, new ArrayList<>());
+    statistics = new RunningStatistics(matrix, "A");
+  }
+
+  @Test
+  public void givenSingleValue_whenGetVariance_thenZero() {
+    DimMatrix single = new DimMatrix();
+    single.addEntry("A", "n1", "5");
+
+    RunningStatistics singleStatistics = new RunningStatistics(single, "A");
+
+    assertThat(singleStatistics.getVariance()).isEqualTo(0.0);
+    assertThat(singleStatistics.getStd()).isEqualTo(0.0);
+  }
+
+  @Test
+  public void givenColumn_whenCreated_thenStatisticsComputed() {
+    assertThat(statistics.getCount()).isEqualTo(3);
+    assertThat(statistics.getSum()).isEqualTo(9.0);
+    assertThat(statistics.getMean()).isEqualTo(3.0);
+    assertThat(statistics.getVariance()).isCloseTo(Statistics.variance(new double[]{1, 2, 6}), within(1e-12));
+  }
+
+  @Test
+  public void givenChangedEntries_whenAddEntry_thenStatisticsUpdated() {
+    matrix.addEntry("A", "n3", "3");
+    matrix.addEntry("A", "n4", "10");
+    matrix.addEntry("B", "n1", "100");
+
+    double[] expected = {1, 2, 3, 10};
+    assertThat(statistics.getCount()).isEqualTo(4);
+    assertThat(statistics.getSum()).isEqualTo(16.0);
+    assertThat(statistics.getMean()).isCloseTo(Statistics.mean(expected), within(1e-12));
+    assertThat(statistics.getStd()).isCloseTo(Statistics.std(expected), within(1e-12));
+  }
+
+  @Test
+  public void givenQualifiedNumbers_whenAddEntry_thenStatisticsUpdated() {
+    matrix.addEntry("A", "n3", "0x10");
+    matrix.addEntry("A", "n4", "2.5f");
+
+    assertThat(matrix.getEntry("A", "n3")).isEqualTo("0x10");
+    assertThat(statistics.getCount()).isEqualTo(4);
+    assertThat(statistics.getSum()).isEqualTo(21.5);
+  }
+
+}
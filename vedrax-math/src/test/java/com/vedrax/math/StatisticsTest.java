@@ -0,0 +1,62 @@
+package com.vedrax.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class StatisticsTest {
+
+  @Test
+  public void givenValues_whenPercentile_thenInterpolatedBetweenRanks() {
+    double[] values = {4, 1, 3, 2};
+
+    assertThat(Statistics.percentile(values, 0)).isEqualTo(1.0);
+    assertThat(Statistics.percentile(values, 0.5)).isEqualTo(Statistics.median(values));
+    assertThat(Statistics.percentile(values, 0.9)).isCloseTo(3.7, within(1e-12));
+    assertThat(Statistics.percentile(values, 1)).isEqualTo(4.0);
+  }
+
+  @Test
+  public void givenLargeArray_whenAggregate_thenParallelPathMatchesSequential() {
+    double[] values = new Random(42).doubles(Statistics.PARALLEL_THRESHOLD * 2L, -100, 100).toArray();
+
+    double sum = 0;
+    double min = Double.POSITIVE_INFINITY;
+    for (double value : values) {
+      sum += value;
+      min = Math.min(min, value);
+    }
+    double mean = sum / values.length;
+    double squares = 0;
+    for (double value : values) {
+      squares += (value - mean) * (value - mean);
+    }
+
+    assertThat(Statistics.sum(values)).isCloseTo(sum, within(1e-6));
+    assertThat(Statistics.min(values)).isEqualTo(min);
+    assertThat(Statistics.variance(values)).isCloseTo(squares / (values.length - 1), within(1e-9));
+  }
+
+  @Test
+  public void givenSingleValue_whenVariance_thenZero() {
+    assertThat(Statistics.variance(new double[]{5})).isEqualTo(0.0);
+    assertThat(Statistics.std(new double[]{5})).isEqualTo(0.0);
+  }
+
+  @Test
+  public void givenNaN_whenMinOrMax_thenReturnsNaN() {
+    assertThat(Statistics.min(new double[]{1, Double.NaN, 0})).isNaN();
+    assertThat(Statistics.max(new double[]{1, Double.NaN, 2})).isNaN();
+  }
+
+  @Test
+  public void givenInvalidProbability_whenPercentile_thenThrowsException() {
+    assertThatThrownBy(() -> Statistics.percentile(new double[]{1}, 1.5))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
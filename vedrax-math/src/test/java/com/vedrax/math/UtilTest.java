@@ -63,6 +63,7 @@ public class UtilTest {
     String representation = Util.convertObjectToString(objects);
 
     assertThat(representation).isEqualTo("[a,b,c]");
+    assertThat(Util.convertObjectToString(new double[]{1, 2.5})).isEqualTo("[1.0,2.5]");
   }
 
   @Test(expected = NullPointerException.class)
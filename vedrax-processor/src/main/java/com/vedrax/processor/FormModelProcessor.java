@@ -0,0 +1,450 @@
+package com.vedrax.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor generating the form model of the dto classes at build time.
+ * <p>
+ * A dto class is any class declaring {@code @Groups} or a field annotated with a descriptor annotation
+ * or a {@code javax.validation} constraint. For {@code com.acme.UserDto}, the processor generates
+ * {@code com.acme.UserDto_FormModel}, a {@code FormModelProvider} building the same model as the
+ * reflection based {@code FormModelFactory}, which prefers it at runtime. The providers are listed in
+ * {@code META-INF/services}, so that the generated models can be loaded without knowing the dto classes.
+ */
+@SupportedAnnotationTypes({
+  FormModelProcessor.ANNOTATIONS + "Autocomplete",
+  FormModelProcessor.ANNOTATIONS + "Children",
+  FormModelProcessor.ANNOTATIONS + "Component",
+  FormModelProcessor.ANNOTATIONS + "Groups",
+  FormModelProcessor.ANNOTATIONS + "Lov",
+  FormModelProcessor.ANNOTATIONS + "Properties",
+  FormModelProcessor.ANNOTATIONS + "Upload",
+  FormModelProcessor.CONSTRAINTS + "Email",
+  FormModelProcessor.CONSTRAINTS + "Max",
+  FormModelProcessor.CONSTRAINTS + "Min",
+  FormModelProcessor.CONSTRAINTS + "NotBlank",
+  FormModelProcessor.CONSTRAINTS + "NotEmpty",
+  FormModelProcessor.CONSTRAINTS + "NotNull",
+  FormModelProcessor.CONSTRAINTS + "Null",
+  FormModelProcessor.CONSTRAINTS + "Pattern",
+  FormModelProcessor.CONSTRAINTS + "Size"
+})
+public class FormModelProcessor extends AbstractProcessor {
+
+  static final String ANNOTATIONS = "com.vedrax.descriptor.annotations.";
+  static final String CONSTRAINTS = "javax.validation.constraints.";
+
+  private static final String SUFFIX = "_FormModel";
+  private static final String MODEL = "com.vedrax.descriptor.model.";
+  private static final String COMPONENTS = "com.vedrax.descriptor.components.";
+  private static final String NVP = "com.vedrax.descriptor.lov.NVP";
+
+  private static final String SERVICES = "META-INF/services/" + MODEL + "FormModelProvider";
+
+  private final Set<String> generated = new HashSet<>();
+  private final Set<String> providers = new TreeSet<>();
+
+  private Elements elements;
+  private Types types;
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    elements = processingEnv.getElementUtils();
+    types = processingEnv.getTypeUtils();
+
+    Set<TypeElement> dtoTypes = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        Element type = element.getKind() == ElementKind.FIELD ? element.getEnclosingElement() : element;
+        if (type.getKind() == ElementKind.CLASS) {
+          dtoTypes.add((TypeElement) type);
+        }
+      }
+    }
+
+    for (TypeElement type : dtoTypes) {
+      if (isAccessible(type) && generated.add(elements.getBinaryName(type).toString())) {
+        generate(type);
+      }
+    }
+
+    if (roundEnv.processingOver() && !providers.isEmpty()) {
+      writeServices();
+    }
+
+    //the annotations are left to the other processors
+    return false;
+  }
+
+  /**
+   * Write the service file listing the providers generated by the compilation
+   */
+  private void writeServices() {
+    try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICES).openWriter()) {
+      for (String provider : providers) {
+        writer.write(provider);
+        writer.write('\n');
+      }
+    } catch (IOException ex) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write " + SERVICES + ": " + ex.getMessage());
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Check if the generated provider can reference the class
+   */
+  private boolean isAccessible(TypeElement type) {
+    Element current = type;
+    while (current instanceof TypeElement) {
+      TypeElement currentType = (TypeElement) current;
+      if (currentType.getModifiers().contains(Modifier.PRIVATE)
+        || currentType.getNestingKind() == NestingKind.LOCAL
+        || currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private void generate(TypeElement type) {
+    String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+    String binaryName = elements.getBinaryName(type).toString();
+    String providerName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+      .replace('$', '_') + SUFFIX;
+
+    Set<String> annotationTypes = new TreeSet<>();
+    List<String> helpers = new ArrayList<>();
+
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source.append("/**\n * Form model of {@link ").append(type.getQualifiedName()).append("}, generated at build time\n */\n");
+    source.append("public final class ").append(providerName).append(" implements ").append(MODEL).append("FormModelProvider {\n\n");
+
+    source.append("  @Override\n");
+    source.append("  public ").append(MODEL).append("FormModel get() {\n");
+    source.append("    java.util.List<").append(MODEL).append("FieldModel> fields = new java.util.ArrayList<>();\n");
+    for (VariableElement field : getAllFields(type)) {
+      source.append("    fields.add(");
+      appendField(source, field, packageName, annotationTypes, helpers);
+      source.append(");\n");
+    }
+    source.append("\n    java.util.List<").append(MODEL).append("GroupModel> groups = new java.util.ArrayList<>();\n");
+    AnnotationMirror groups = getAnnotation(type, ANNOTATIONS + "Groups");
+    if (groups != null) {
+      for (AnnotationValue group : list(values(groups).get("groups"))) {
+        Map<String, AnnotationValue> groupValues = values((AnnotationMirror) group.getValue());
+        source.append("    groups.add(new ").append(MODEL).append("GroupModel(").append(literal(string(groupValues.get("name"))))
+          .append(", java.util.Collections.unmodifiableList(java.util.Arrays.asList(")
+          .append(literals(list(groupValues.get("properties")))).append("))));\n");
+      }
+    }
+    source.append("\n    return new ").append(MODEL).append("FormModel(").append(type.getQualifiedName())
+      .append(".class, java.util.Collections.unmodifiableList(fields), java.util.Collections.unmodifiableList(groups));\n");
+    source.append("  }\n\n");
+
+    source.append("  @Override\n");
+    source.append("  public java.util.Set<String> getAnnotationTypes() {\n");
+    source.append("    return new java.util.HashSet<>(java.util.Arrays.asList(").append(String.join(", ", literalList(annotationTypes))).append("));\n");
+    source.append("  }\n");
+
+    helpers.forEach(helper -> source.append('\n').append(helper));
+    source.append("}\n");
+
+    String qualifiedName = packageName.isEmpty() ? providerName : packageName + "." + providerName;
+    try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+      writer.write(source.toString());
+      providers.add(qualifiedName);
+    } catch (IOException ex) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate " + qualifiedName + ": " + ex.getMessage(), type);
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Get the fields of the class then of its superclasses, as FieldUtils.getAllFields does
+   */
+  private List<VariableElement> getAllFields(TypeElement type) {
+    List<VariableElement> fields = new ArrayList<>();
+    TypeElement current = type;
+    while (current != null) {
+      fields.addAll(ElementFilter.fieldsIn(current.getEnclosedElements()));
+      TypeMirror superclass = current.getSuperclass();
+      current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+    return fields;
+  }
+
+  /**
+   * Append the builder of the field model, the calls following the order of FormModelFactory
+   */
+  private void appendField(StringBuilder source, VariableElement field, String packageName,
+                           Set<String> annotationTypes, List<String> helpers) {
+    String name = field.getSimpleName().toString();
+    String controlKey = packageName + "." + name;
+
+    source.append(MODEL).append("FieldModel.builder()");
+    call(source, "name", literal(name));
+    call(source, "labelKey", literal(controlKey + ".label"));
+    call(source, "hintKey", literal(controlKey + ".hint"));
+    call(source, "excludedWithSource", String.valueOf(getAnnotation(field, CONSTRAINTS + "Null") != null));
+
+    appendControlType(source, field.asType());
+
+    for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+      annotationTypes.add(elements.getBinaryName(annotationType).toString());
+      appendAnnotation(source, annotationType.getQualifiedName().toString(), values(annotation), controlKey, helpers);
+    }
+
+    source.append("\n      .build()");
+  }
+
+  private void appendControlType(StringBuilder source, TypeMirror type) {
+    if (isSubtype(type, "java.util.Date")) {
+      call(source, "controlType", literal("datepicker"));
+    } else if (isSubtype(type, "java.lang.Integer") || isSubtype(type, "java.lang.Double") || isSubtype(type, "java.math.BigDecimal")) {
+      call(source, "controlType", literal("input"));
+      call(source, "property", property("type", "number"));
+    } else if (isSubtype(type, "java.lang.Boolean")) {
+      call(source, "controlType", literal("checkbox"));
+    } else if (isSubtype(type, "org.springframework.web.multipart.MultipartFile")) {
+      call(source, "controlType", literal("upload"));
+    } else {
+      call(source, "controlType", literal("input"));
+    }
+  }
+
+  private void appendAnnotation(StringBuilder source, String annotationType, Map<String, AnnotationValue> values,
+                                String controlKey, List<String> helpers) {
+    switch (annotationType) {
+      case ANNOTATIONS + "Properties":
+        for (AnnotationValue property : list(values.get("properties"))) {
+          Map<String, AnnotationValue> propertyValues = values((AnnotationMirror) property.getValue());
+          call(source, "property", property(string(propertyValues.get("propertyName")), string(propertyValues.get("propertyValue"))));
+        }
+        break;
+      case ANNOTATIONS + "Component":
+        call(source, "controlType", literal(string(values.get("type"))));
+        if (!string(values.get("endpoint")).isEmpty()) {
+          call(source, "endpointForOptions", literal(string(values.get("endpoint"))));
+        }
+        break;
+      case ANNOTATIONS + "Children":
+        call(source, "childType", classLiteral(values.get("type")));
+        for (AnnotationValue endpoint : list(values.get("endpoints"))) {
+          Map<String, AnnotationValue> endpointValues = values((AnnotationMirror) endpoint.getValue());
+          call(source, "childEndpoint", literal(string(endpointValues.get("key"))) + ", " + literal(string(endpointValues.get("url"))));
+        }
+        for (AnnotationValue key : list(values.get("controlKeysAsTitle"))) {
+          call(source, "keyAsTitle", literal((String) key.getValue()));
+        }
+        call(source, "controlType", literal("arrayOfControls"));
+        break;
+      case ANNOTATIONS + "Lov":
+        call(source, "lovType", classLiteral(values.get("enumType")));
+        call(source, "controlType", literal("select"));
+        break;
+      case CONSTRAINTS + "NotNull":
+      case CONSTRAINTS + "NotEmpty":
+      case CONSTRAINTS + "NotBlank":
+        call(source, "validation", validation("required", "true", controlKey));
+        break;
+      case CONSTRAINTS + "Size":
+        int max = ((Number) values.get("max").getValue()).intValue();
+        int min = ((Number) values.get("min").getValue()).intValue();
+        if (max > 0) {
+          call(source, "validation", validation("maxlength", String.valueOf(max), controlKey));
+        }
+        if (min > 0) {
+          call(source, "validation", validation("minlength", String.valueOf(min), controlKey));
+        }
+        break;
+      case CONSTRAINTS + "Email":
+        call(source, "validation", validation("email", "true", controlKey));
+        break;
+      case CONSTRAINTS + "Min":
+        call(source, "validation", validation("min", values.get("value").getValue() + "L", controlKey));
+        break;
+      case CONSTRAINTS + "Max":
+        call(source, "validation", validation("max", values.get("value").getValue() + "L", controlKey));
+        break;
+      case CONSTRAINTS + "Pattern":
+        call(source, "validation", validation("pattern", literal(string(values.get("regexp"))), controlKey));
+        break;
+      case ANNOTATIONS + "Autocomplete":
+        String helper = "autocomplete" + helpers.size();
+        helpers.add(autocomplete(helper, values));
+        call(source, "controlType", literal("autocomplete"));
+        call(source, "autocomplete", helper + "()");
+        break;
+      case ANNOTATIONS + "Upload":
+        call(source, "controlType", literal("upload"));
+        List<? extends AnnotationValue> acceptedTypes = list(values.get("acceptedTypes"));
+        if (!acceptedTypes.isEmpty()) {
+          for (AnnotationValue acceptedType : acceptedTypes) {
+            call(source, "accept", literal((String) acceptedType.getValue()));
+          }
+          call(source, "sizeLimit", String.valueOf(values.get("sizeLimit").getValue()));
+        }
+        break;
+      default:
+        //not a descriptor annotation
+    }
+  }
+
+  /**
+   * Generate the method building the autocomplete descriptor template
+   */
+  private String autocomplete(String method, Map<String, AnnotationValue> values) {
+    String descriptor = COMPONENTS + "AutocompleteDescriptor";
+
+    StringBuilder helper = new StringBuilder();
+    helper.append("  private static ").append(descriptor).append(' ').append(method).append("() {\n");
+    helper.append("    ").append(descriptor).append(" autocomplete = new ").append(descriptor).append("();\n");
+    helper.append("    autocomplete.setEndpoint(").append(literal(string(values.get("endpoint")))).append(");\n");
+    helper.append("    autocomplete.setDisplayKey(").append(literal(string(values.get("displayAttribute")))).append(");\n");
+    for (AnnotationValue param : list(values.get("params"))) {
+      String[] splitString = ((String) param.getValue()).split(":");
+      helper.append("    autocomplete.getDefaultParams().add(new ").append(NVP).append('(')
+        .append(literal(splitString[0])).append(", ").append(literal(splitString[1])).append("));\n");
+    }
+    int index = 0;
+    for (AnnotationValue filter : list(values.get("filters"))) {
+      Map<String, AnnotationValue> filterValues = values((AnnotationMirror) filter.getValue());
+      String variable = "filter" + index++;
+      helper.append("    ").append(COMPONENTS).append("FormControlDescriptor ").append(variable)
+        .append(" = new ").append(COMPONENTS).append("FormControlDescriptor();\n");
+      helper.append("    ").append(variable).append(".setControlName(").append(literal(string(filterValues.get("controlName")))).append(");\n");
+      helper.append("    ").append(variable).append(".setControlType(").append(literal(string(filterValues.get("controlType")))).append(");\n");
+      if (!string(filterValues.get("endpoint")).isEmpty()) {
+        helper.append("    ").append(variable).append(".setEndpointForOptions(").append(literal(string(filterValues.get("endpoint")))).append(");\n");
+      }
+      helper.append("    autocomplete.addFilter(").append(variable).append(");\n");
+    }
+    helper.append("    return autocomplete;\n");
+    helper.append("  }\n");
+    return helper.toString();
+  }
+
+  private boolean isSubtype(TypeMirror type, String className) {
+    TypeElement element = elements.getTypeElement(className);
+    return type.getKind() == TypeKind.DECLARED && element != null
+      && types.isSubtype(types.erasure(type), types.erasure(element.asType()));
+  }
+
+  private String classLiteral(AnnotationValue value) {
+    return types.erasure((TypeMirror) value.getValue()) + ".class";
+  }
+
+  private static AnnotationMirror getAnnotation(Element element, String annotationType) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(annotationType)) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the values of an annotation by name, defaults included
+   */
+  private Map<String, AnnotationValue> values(AnnotationMirror annotation) {
+    Map<String, AnnotationValue> values = new HashMap<>();
+    elements.getElementValuesWithDefaults(annotation)
+      .forEach((element, value) -> values.put(element.getSimpleName().toString(), value));
+    return values;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<? extends AnnotationValue> list(AnnotationValue value) {
+    return (List<? extends AnnotationValue>) value.getValue();
+  }
+
+  private static String string(AnnotationValue value) {
+    return (String) value.getValue();
+  }
+
+  private static void call(StringBuilder source, String method, String argument) {
+    source.append("\n      .").append(method).append('(').append(argument).append(')');
+  }
+
+  private static String property(String name, String value) {
+    return "new " + COMPONENTS + "PropertyDescriptor(" + literal(name) + ", " + literal(value) + ")";
+  }
+
+  private static String validation(String validationName, String value, String controlKey) {
+    return "new " + MODEL + "ValidationModel(" + literal(validationName) + ", " + value + ", "
+      + literal(controlKey + "." + validationName) + ")";
+  }
+
+  private static String literals(List<? extends AnnotationValue> values) {
+    List<String> strings = new ArrayList<>();
+    values.forEach(value -> strings.add((String) value.getValue()));
+    return String.join(", ", literalList(strings));
+  }
+
+  private static List<String> literalList(Collection<String> values) {
+    List<String> literals = new ArrayList<>();
+    values.forEach(value -> literals.add(literal(value)));
+    return literals;
+  }
+
+  /**
+   * Get the java literal of a string
+   */
+  static String literal(String value) {
+    StringBuilder literal = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"':
+          literal.append("\\\"");
+          break;
+        case '\\':
+          literal.append("\\\\");
+          break;
+        case '\n':
+          literal.append("\\n");
+          break;
+        case '\r':
+          literal.append("\\r");
+          break;
+        case '\t':
+          literal.append("\\t");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            literal.append(String.format("\\u%04x", (int) c));
+          } else {
+            literal.append(c);
+          }
+      }
+    }
+    return literal.append('"').toString();
+  }
+}